@@ -0,0 +1,30 @@
+package net.luis.agent.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class MemorizedSupplier<X> implements Supplier<X> {
+	
+	private final Supplier<X> supplier;
+	private X value;
+	
+	public MemorizedSupplier(@NotNull Supplier<X> supplier) {
+		this.supplier = Objects.requireNonNull(supplier, "Supplier must not be null");
+	}
+	
+	@Override
+	public X get() {
+		if (this.value == null) {
+			this.value = this.supplier.get();
+		}
+		return this.value;
+	}
+}
@@ -0,0 +1,32 @@
+package net.luis.agent.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class RuntimeUtils {
+	
+	private RuntimeUtils() {}
+	
+	public static boolean isAccessAllowed(@NotNull String target, boolean pattern, @NotNull String className, @NotNull String methodName) {
+		Objects.requireNonNull(target, "Target must not be null");
+		Objects.requireNonNull(className, "Class name must not be null");
+		Objects.requireNonNull(methodName, "Method name must not be null");
+		String concat = className + "#" + methodName;
+		if (pattern) {
+			return Pattern.matches(target, concat);
+		}
+		if (target.equalsIgnoreCase(className) || target.equalsIgnoreCase(methodName) || target.equalsIgnoreCase(concat) || target.equalsIgnoreCase("#" + methodName)) {
+			return true;
+		}
+		String simple = className.substring(className.lastIndexOf(".") + 1);
+		return target.equalsIgnoreCase(simple) || target.equalsIgnoreCase(simple + "#" + methodName);
+	}
+}
@@ -0,0 +1,37 @@
+package net.luis.agent.runtime.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ContextRunnable implements Runnable {
+	
+	private final String method;
+	private final Map<String, ScheduledFuture<?>> lookup;
+	private final BiConsumer<Integer, ScheduledFuture<?>> action;
+	private ScheduledFuture<?> future;
+	private int count;
+	
+	public ContextRunnable(@NotNull String method, @NotNull Map<String, ScheduledFuture<?>> lookup, @NotNull BiConsumer<Integer, ScheduledFuture<?>> action) {
+		this.method = Objects.requireNonNull(method, "Method must not be null");
+		this.lookup = Objects.requireNonNull(lookup, "Lookup must not be null");
+		this.action = Objects.requireNonNull(action, "Action must not be null");
+	}
+	
+	@Override
+	public void run() {
+		if (this.future == null) {
+			this.future = this.lookup.get(this.method);
+		}
+		this.action.accept(this.count++, this.future);
+	}
+}
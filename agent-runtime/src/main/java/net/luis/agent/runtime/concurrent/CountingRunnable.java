@@ -0,0 +1,27 @@
+package net.luis.agent.runtime.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class CountingRunnable implements Runnable {
+	
+	private final Consumer<Integer> action;
+	private int count;
+	
+	public CountingRunnable(@NotNull Consumer<Integer> action) {
+		this.action = Objects.requireNonNull(action, "Action must not be null");
+	}
+	
+	@Override
+	public void run() {
+		this.action.accept(this.count++);
+	}
+}
@@ -0,0 +1,25 @@
+package net.luis.agent.runtime.concurrent;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class DaemonThreadFactory implements ThreadFactory {
+	
+	private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+	
+	@Override
+	public @NotNull Thread newThread(@NotNull Runnable runnable) {
+		Thread thread = this.defaultFactory.newThread(Objects.requireNonNull(runnable, "Runnable must not be null"));
+		thread.setDaemon(true);
+		return thread;
+	}
+}
@@ -0,0 +1,159 @@
+package net.luis.agent.benchmark;
+
+import net.luis.agent.Agent;
+import net.luis.agent.Main;
+import net.luis.agent.asm.base.ClassTransformerPipeline;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ConcurrentTransformBenchmark {
+	
+	private static final String PACKAGE = "benchmark/stress/";
+	private static final String NOT_NULL = Type.getDescriptor(org.jetbrains.annotations.NotNull.class);
+	private static final int ROUNDS = 5;
+	private static final List<String> SAMPLES = List.of("net/luis/sample/SampleMethods", "net/luis/sample/SampleTarget", "net/luis/sample/ISampleTarget");
+	
+	public static void main(String @NotNull [] args) throws IOException, InterruptedException, ExecutionException {
+		int classes = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+		int methods = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		Map<String, byte[]> inputs = generateClasses(classes, methods);
+		for (String sample : SAMPLES) {
+			inputs.put(sample, readClass(sample));
+		}
+		PrintStream out = System.out;
+		// The transformer pipeline reports every transformed class, which would dominate the measured time
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		Agent.initialize();
+		ClassTransformerPipeline pipeline = new ClassTransformerPipeline(null, Main.createTransformers());
+		ClassLoader loader = ConcurrentTransformBenchmark.class.getClassLoader();
+		ProtectionDomain domain = ConcurrentTransformBenchmark.class.getProtectionDomain();
+		
+		Map<String, byte[]> expected = new HashMap<>();
+		inputs.forEach((name, bytes) -> expected.put(name, pipeline.transform(loader, name, null, domain, bytes)));
+		out.println("Generated " + classes + " classes with " + methods + " methods each, " + expected.values().stream().filter(Objects::nonNull).count() + " of them are transformed");
+		// Scheduled methods and injected interfaces add members to the metadata of their class, transforming the class again must not see them
+		List<String> repeated = SAMPLES.stream().filter(sample -> expected.get(sample) == null || !Arrays.equals(expected.get(sample), pipeline.transform(loader, sample, null, domain, inputs.get(sample)))).toList();
+		if (!repeated.isEmpty()) {
+			System.setOut(out);
+			System.err.println("Transforming a class twice produced a different result for " + repeated);
+			System.exit(1);
+		}
+		out.println("Transformed " + SAMPLES.size() + " sample classes twice with the same result");
+		
+		List<Map.Entry<String, byte[]>> entries = List.copyOf(inputs.entrySet());
+		List<Integer> threadCounts = new ArrayList<>();
+		for (int threads = 1; threads < maxThreads; threads *= 2) {
+			threadCounts.add(threads);
+		}
+		threadCounts.add(maxThreads);
+		int mismatches = 0;
+		for (int threads : threadCounts) {
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			AtomicInteger failed = new AtomicInteger();
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				int offset = i;
+				int stride = threads;
+				tasks.add(() -> {
+					for (int j = offset; j < entries.size(); j += stride) {
+						Map.Entry<String, byte[]> entry = entries.get(j);
+						if (!Arrays.equals(expected.get(entry.getKey()), pipeline.transform(loader, entry.getKey(), null, domain, entry.getValue()))) {
+							failed.incrementAndGet();
+						}
+					}
+					return null;
+				});
+			}
+			try {
+				executor.invokeAll(tasks);
+				long start = System.nanoTime();
+				for (int round = 0; round < ROUNDS; round++) {
+					for (Future<Void> future : executor.invokeAll(tasks)) {
+						future.get();
+					}
+				}
+				double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+				out.printf("%3d threads %10.0f classes/s, %d mismatches%n", threads, entries.size() * ROUNDS / seconds, failed.get());
+			} finally {
+				executor.shutdown();
+			}
+			mismatches += failed.get();
+		}
+		System.setOut(out);
+		if (mismatches > 0) {
+			System.err.println("Concurrent transformations produced " + mismatches + " classes which differ from the sequential transformation");
+			System.exit(1);
+		}
+	}
+	
+	//region Helper methods
+	private static byte @NotNull [] readClass(@NotNull String name) throws IOException {
+		try (InputStream stream = ClassLoader.getSystemResourceAsStream(name + ".class")) {
+			if (stream == null) {
+				throw new IllegalStateException("Sample class not found in classpath: " + name);
+			}
+			return stream.readAllBytes();
+		}
+	}
+	
+	private static @NotNull Map<String, byte[]> generateClasses(int classes, int methods) throws IOException {
+		// The generated classes are appended to the class path before the agent reads it, so they are discovered like application classes
+		Path directory = Files.createTempDirectory("agent-stress");
+		directory.toFile().deleteOnExit();
+		Map<String, byte[]> inputs = new LinkedHashMap<>();
+		for (int i = 0; i < classes; i++) {
+			String name = PACKAGE + "Stress" + i;
+			byte[] bytes = generateClass(name, methods);
+			Path file = directory.resolve(name + ".class");
+			Files.createDirectories(file.getParent());
+			Files.write(file, bytes);
+			inputs.put(name, bytes);
+		}
+		System.setProperty("java.class.path", System.getProperty("java.class.path") + File.pathSeparator + directory);
+		return inputs;
+	}
+	
+	private static byte @NotNull [] generateClass(@NotNull String name, int methods) {
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+		for (int i = 0; i < methods; i++) {
+			// Every method has an annotated parameter and an annotated local, the latter requires the local scopes to be updated during the transformation
+			MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "method" + i, "(Ljava/lang/String;)Ljava/lang/String;", null, null);
+			visitor.visitParameter("value", 0);
+			visitor.visitParameterAnnotation(0, NOT_NULL, false).visitEnd();
+			Label start = new Label();
+			Label end = new Label();
+			visitor.visitCode();
+			visitor.visitVarInsn(Opcodes.ALOAD, 0);
+			visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/String", "trim", "()Ljava/lang/String;", false);
+			visitor.visitVarInsn(Opcodes.ASTORE, 1);
+			visitor.visitLabel(start);
+			visitor.visitVarInsn(Opcodes.ALOAD, 1);
+			visitor.visitInsn(Opcodes.ARETURN);
+			visitor.visitLabel(end);
+			visitor.visitLocalVariable("value", "Ljava/lang/String;", null, start, end, 0);
+			visitor.visitLocalVariable("trimmed", "Ljava/lang/String;", null, start, end, 1);
+			visitor.visitLocalVariableAnnotation(TypeReference.newTypeReference(TypeReference.LOCAL_VARIABLE).getValue(), null, new Label[] { start }, new Label[] { end }, new int[] { 1 }, NOT_NULL, false).visitEnd();
+			visitor.visitMaxs(0, 0);
+			visitor.visitEnd();
+		}
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+	//endregion
+}
@@ -0,0 +1,104 @@
+package net.luis.agent.benchmark;
+
+import net.luis.agent.asm.base.PassthroughClassWriter;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.*;
+import org.objectweb.asm.tree.*;
+
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class PassthroughBenchmark {
+	
+	private static final int WARMUP = 200;
+	private static final int ITERATIONS = 500;
+	
+	public static void main(String @NotNull [] args) {
+		int methods = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		byte[] bytes = generateClass(methods);
+		System.out.println("Generated class with " + methods + " methods (" + bytes.length + " bytes)");
+		run("Unmodified, full rewrite", bytes, node -> null, false);
+		run("Unmodified, passthrough", bytes, node -> null, true);
+		run("One method modified, full rewrite", bytes, PassthroughBenchmark::modifyFirstMethod, false);
+		run("One method modified, passthrough", bytes, PassthroughBenchmark::modifyFirstMethod, true);
+	}
+	
+	//region Helper methods
+	private static byte @NotNull [] generateClass(int methods) {
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, "net/luis/agent/benchmark/Generated", null, "java/lang/Object", null);
+		for (int i = 0; i < methods; i++) {
+			MethodVisitor visitor = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "method" + i, "(I)I", null, null);
+			Label start = new Label();
+			Label end = new Label();
+			Label odd = new Label();
+			Label next = new Label();
+			visitor.visitCode();
+			visitor.visitInsn(Opcodes.ICONST_0);
+			visitor.visitVarInsn(Opcodes.ISTORE, 1);
+			visitor.visitInsn(Opcodes.ICONST_0);
+			visitor.visitVarInsn(Opcodes.ISTORE, 2);
+			visitor.visitLabel(start);
+			visitor.visitVarInsn(Opcodes.ILOAD, 2);
+			visitor.visitVarInsn(Opcodes.ILOAD, 0);
+			visitor.visitJumpInsn(Opcodes.IF_ICMPGE, end);
+			visitor.visitVarInsn(Opcodes.ILOAD, 2);
+			visitor.visitInsn(Opcodes.ICONST_2);
+			visitor.visitInsn(Opcodes.IREM);
+			visitor.visitJumpInsn(Opcodes.IFNE, odd);
+			visitor.visitIincInsn(1, i);
+			visitor.visitJumpInsn(Opcodes.GOTO, next);
+			visitor.visitLabel(odd);
+			visitor.visitIincInsn(1, -1);
+			visitor.visitLabel(next);
+			visitor.visitIincInsn(2, 1);
+			visitor.visitJumpInsn(Opcodes.GOTO, start);
+			visitor.visitLabel(end);
+			visitor.visitVarInsn(Opcodes.ILOAD, 1);
+			visitor.visitInsn(Opcodes.IRETURN);
+			visitor.visitMaxs(0, 0);
+			visitor.visitEnd();
+		}
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+	
+	private static @NotNull String modifyFirstMethod(@NotNull ClassNode node) {
+		MethodNode method = node.methods.getFirst();
+		method.instructions.insert(new InsnNode(Opcodes.NOP));
+		return method.name + method.desc;
+	}
+	
+	private static void run(@NotNull String name, byte @NotNull [] bytes, @NotNull Function<ClassNode, String> modifier, boolean passthrough) {
+		int size = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			size = transform(bytes, modifier, passthrough);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			size = transform(bytes, modifier, passthrough);
+		}
+		double time = (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+		System.out.printf("%-36s %8.3f ms/op, %s%n", name, time, size == 0 ? "unchanged bytes passed through" : size + " bytes written");
+	}
+	
+	private static int transform(byte @NotNull [] bytes, @NotNull Function<ClassNode, String> modifier, boolean passthrough) {
+		ClassReader reader = new ClassReader(bytes);
+		ClassNode node = new ClassNode();
+		reader.accept(node, ClassReader.EXPAND_FRAMES);
+		String modified = modifier.apply(node);
+		if (passthrough) {
+			return modified == null ? 0 : PassthroughClassWriter.write(reader, node, Set.of(modified), ClassWriter.COMPUTE_FRAMES).length;
+		}
+		ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_FRAMES);
+		node.accept(writer);
+		return writer.toByteArray().length;
+	}
+	//endregion
+}
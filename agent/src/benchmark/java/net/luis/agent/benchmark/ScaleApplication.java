@@ -0,0 +1,60 @@
+package net.luis.agent.benchmark;
+
+import net.luis.agent.metrics.AgentMetricsMXBean;
+import org.jetbrains.annotations.NotNull;
+
+import javax.management.*;
+import java.lang.management.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ScaleApplication {
+	
+	static final String RESULT_PREFIX = "Scale result: ";
+	private static final int REQUESTS = 100;
+	
+	public static void main(String @NotNull [] args) throws Exception {
+		RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+		long startup = runtime.getUptime();
+		int classes = Integer.getInteger("scale.classes", 0);
+		// The first request touches one class of each segment of the class path, the position within the segment is rotated so the annotated classes are hit by their fraction
+		int requests = Math.min(REQUESTS, classes);
+		int segment = requests == 0 ? 0 : classes / requests;
+		for (int i = 0; i < requests; i++) {
+			int index = (int) ((long) i * classes / requests) + (segment == 0 ? 0 : i % segment);
+			Class.forName(getClassName(index).replace('/', '.')).getMethod("ping").invoke(null);
+		}
+		long firstRequest = runtime.getUptime();
+		long peakHeap = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peakHeap += pool.getPeakUsage().getUsed();
+			}
+		}
+		long initialize = -1;
+		long seen = -1;
+		long transformed = -1;
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("net.luis.agent:type=Metrics");
+		if (server.isRegistered(name)) {
+			AgentMetricsMXBean metrics = JMX.newMXBeanProxy(server, name, AgentMetricsMXBean.class);
+			initialize = metrics.getPhaseMillis().getOrDefault("initialize", -1L);
+			seen = metrics.getClasses();
+			transformed = metrics.getModifiedClasses();
+		}
+		System.out.println(RESULT_PREFIX + startup + " " + initialize + " " + firstRequest + " " + peakHeap + " " + seen + " " + transformed);
+		System.exit(0);
+	}
+	
+	static @NotNull String getClassName(int index) {
+		return "benchmark/scale/p" + (index / 1000) + "/Class" + index;
+	}
+	
+	static @NotNull String getInterfaceName(int index) {
+		return "benchmark/scale/p" + (index / 1000) + "/IClass" + index;
+	}
+}
@@ -0,0 +1,222 @@
+package net.luis.agent.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ScaleBenchmark {
+	
+	private static final String NOT_NULL = "Lorg/jetbrains/annotations/NotNull;";
+	private static final String PATTERN = "Lorg/intellij/lang/annotations/Pattern;";
+	private static final String DEFAULT = "Lnet/luis/agent/annotation/Default;";
+	private static final String ASYNC = "Lnet/luis/agent/annotation/Async;";
+	private static final String INJECT_INTERFACE = "Lnet/luis/agent/annotation/implementation/InjectInterface;";
+	private static final String ACCESSOR = "Lnet/luis/agent/annotation/implementation/Accessor;";
+	private static final String STRING = "Ljava/lang/String;";
+	private static final String HANDLE = "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;";
+	
+	public static void main(String @NotNull [] args) throws IOException, InterruptedException {
+		if (args.length == 0) {
+			System.err.println("Usage: ScaleBenchmark <agent jar> [class counts, default 1000,10000,100000] [annotated fraction, default 0.1]");
+			System.exit(1);
+		}
+		File agent = new File(args[0]);
+		List<Integer> sizes = Stream.of((args.length > 1 ? args[1] : "1000,10000,100000").split(",")).map(String::strip).map(Integer::parseInt).toList();
+		double fraction = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+		System.out.printf("%8s %10s %6s %10s %10s %14s %10s %8s %12s%n", "classes", "layout", "agent", "startup", "premain", "first request", "peak heap", "seen", "transformed");
+		for (int size : sizes) {
+			Path directory = Files.createTempDirectory("agent-scale");
+			try {
+				int annotated = generateClasses(directory.resolve("classes"), size, fraction);
+				Path jars = createJars(directory.resolve("classes"), directory.resolve("jars"));
+				System.out.println("Generated " + size + " classes, " + annotated + " of them annotated with an injected interface each");
+				List<String> jarClassPath;
+				try (Stream<Path> stream = Files.list(jars)) {
+					jarClassPath = stream.sorted().map(Path::toString).toList();
+				}
+				for (String layout : List.of("directory", "jar")) {
+					List<String> classPath = layout.equals("jar") ? jarClassPath : List.of(directory.resolve("classes").toString());
+					run(size, layout, classPath, null);
+					run(size, layout, classPath, agent);
+				}
+			} finally {
+				delete(directory);
+			}
+		}
+	}
+	
+	//region Generation
+	private static int generateClasses(@NotNull Path directory, int size, double fraction) throws IOException {
+		int annotated = 0;
+		for (int i = 0; i < size; i++) {
+			// The annotated classes are spread evenly over the class path
+			boolean isAnnotated = Math.floor((i + 1) * fraction) > Math.floor(i * fraction);
+			write(directory, ScaleApplication.getClassName(i), generateClass(i, isAnnotated));
+			if (isAnnotated) {
+				write(directory, ScaleApplication.getInterfaceName(i), generateInterface(i));
+				annotated++;
+			}
+		}
+		return annotated;
+	}
+	
+	private static byte @NotNull [] generateClass(int index, boolean annotated) {
+		String name = ScaleApplication.getClassName(index);
+		ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+		writer.visitField(Opcodes.ACC_PRIVATE, "name", STRING, null, null).visitEnd();
+		
+		MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		constructor.visitCode();
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitLdcInsn(name);
+		constructor.visitFieldInsn(Opcodes.PUTFIELD, name, "name", STRING);
+		constructor.visitInsn(Opcodes.RETURN);
+		constructor.visitMaxs(0, 0);
+		constructor.visitEnd();
+		
+		MethodVisitor ping = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "ping", "()I", null, null);
+		ping.visitCode();
+		ping.visitLdcInsn(index);
+		ping.visitInsn(Opcodes.IRETURN);
+		ping.visitMaxs(0, 0);
+		ping.visitEnd();
+		
+		MethodVisitor handle = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "handle", HANDLE, null, null);
+		handle.visitParameter("value", 0);
+		handle.visitParameter("fallback", 0);
+		if (annotated) {
+			handle.visitParameterAnnotation(0, NOT_NULL, false).visitEnd();
+			AnnotationVisitor pattern = handle.visitParameterAnnotation(0, PATTERN, false);
+			pattern.visit("value", "^[a-z]*$");
+			pattern.visitEnd();
+			AnnotationVisitor defaultValue = handle.visitParameterAnnotation(1, DEFAULT, false);
+			defaultValue.visit("value", "fallback");
+			defaultValue.visitEnd();
+		}
+		Label start = new Label();
+		Label end = new Label();
+		handle.visitCode();
+		handle.visitLabel(start);
+		handle.visitVarInsn(Opcodes.ALOAD, 1);
+		handle.visitInsn(Opcodes.ARETURN);
+		handle.visitLabel(end);
+		handle.visitLocalVariable("value", STRING, null, start, end, 0);
+		handle.visitLocalVariable("fallback", STRING, null, start, end, 1);
+		handle.visitMaxs(0, 0);
+		handle.visitEnd();
+		
+		MethodVisitor async = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "async", "()V", null, null);
+		if (annotated) {
+			async.visitAnnotation(ASYNC, false).visitEnd();
+		}
+		async.visitCode();
+		async.visitInsn(Opcodes.RETURN);
+		async.visitMaxs(0, 0);
+		async.visitEnd();
+		
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+	
+	private static byte @NotNull [] generateInterface(int index) {
+		ClassWriter writer = new ClassWriter(0);
+		writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, ScaleApplication.getInterfaceName(index), null, "java/lang/Object", null);
+		AnnotationVisitor inject = writer.visitAnnotation(INJECT_INTERFACE, false);
+		inject.visit("value", Type.getObjectType(ScaleApplication.getClassName(index)));
+		inject.visitEnd();
+		MethodVisitor accessor = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "getName", "()" + STRING, null, null);
+		accessor.visitAnnotation(ACCESSOR, false).visitEnd();
+		accessor.visitEnd();
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+	//endregion
+	
+	//region Helper methods
+	private static void write(@NotNull Path directory, @NotNull String name, byte @NotNull [] bytes) throws IOException {
+		Path file = directory.resolve(name + ".class");
+		Files.createDirectories(file.getParent());
+		Files.write(file, bytes);
+	}
+	
+	private static @NotNull Path createJars(@NotNull Path classes, @NotNull Path jars) throws IOException {
+		// Each generated package is packed into its own jar, so large class paths consist of many jars like real applications
+		Files.createDirectories(jars);
+		List<Path> packages;
+		try (Stream<Path> stream = Files.list(classes.resolve("benchmark/scale"))) {
+			packages = stream.sorted().toList();
+		}
+		for (Path directory : packages) {
+			try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jars.resolve(directory.getFileName() + ".jar"))); Stream<Path> files = Files.list(directory)) {
+				for (Path file : files.sorted().toList()) {
+					jar.putNextEntry(new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+					jar.write(Files.readAllBytes(file));
+					jar.closeEntry();
+				}
+			}
+		}
+		return jars;
+	}
+	
+	private static void run(int size, @NotNull String layout, @NotNull List<String> classPath, @Nullable File agent) throws IOException, InterruptedException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		if (agent != null) {
+			command.add("-javaagent:" + agent.getAbsolutePath() + "=metrics");
+		}
+		command.add("-Dscale.classes=" + size);
+		command.add("-cp");
+		command.add(String.join(File.pathSeparator, Stream.concat(Stream.of(System.getProperty("java.class.path")), classPath.stream()).toList()));
+		command.add(ScaleApplication.class.getName());
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String result = null;
+		Deque<String> lastLines = new ArrayDeque<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(ScaleApplication.RESULT_PREFIX)) {
+					result = line.substring(ScaleApplication.RESULT_PREFIX.length());
+				}
+				lastLines.addLast(line);
+				if (lastLines.size() > 20) {
+					lastLines.removeFirst();
+				}
+			}
+		}
+		if (!process.waitFor(10, TimeUnit.MINUTES) || process.exitValue() != 0 || result == null) {
+			process.destroyForcibly();
+			System.err.println("Run with " + size + " classes as " + layout + (agent != null ? " with agent" : "") + " failed:");
+			lastLines.forEach(System.err::println);
+			return;
+		}
+		long[] values = Stream.of(result.split(" ")).mapToLong(Long::parseLong).toArray();
+		System.out.printf("%8d %10s %6s %8dms %8s %12dms %8dMiB %8s %12s%n", size, layout, agent != null ? "yes" : "no", values[0], values[1] < 0 ? "-" : values[1] + "ms", values[2], values[3] / (1024 * 1024),
+			values[4] < 0 ? "-" : String.valueOf(values[4]), values[5] < 0 ? "-" : String.valueOf(values[5]));
+	}
+	
+	private static void delete(@NotNull Path directory) throws IOException {
+		try (Stream<Path> stream = Files.walk(directory)) {
+			for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		}
+	}
+	//endregion
+}
@@ -0,0 +1,44 @@
+package net.luis.agent.benchmark.jmh;
+
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.scanner.ClassScanner;
+import net.luis.agent.asm.type.ScanLevel;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassScannerBenchmark {
+	
+	@Param({ "net.luis.sample.SampleMethods", "net.luis.sample.SampleTarget", "net.luis.sample.ISampleTarget" })
+	public String sample;
+	@Param({ "HEADER", "MEMBERS", "CODE" })
+	public ScanLevel level;
+	private byte[] bytes;
+	
+	@Setup
+	public void setup() {
+		this.bytes = Samples.readClass(Type.getObjectType(this.sample.replace('.', '/')));
+	}
+	
+	@Benchmark
+	public @NotNull Class scan() {
+		ClassScanner scanner = new ClassScanner(this.level);
+		new ClassReader(this.bytes).accept(scanner, this.level.getParsingOptions());
+		return scanner.get();
+	}
+}
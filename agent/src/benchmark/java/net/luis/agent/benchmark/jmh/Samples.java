@@ -0,0 +1,49 @@
+package net.luis.agent.benchmark.jmh;
+
+import net.luis.agent.Agent;
+import net.luis.sample.*;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+final class Samples {
+	
+	static final List<java.lang.Class<?>> CLASSES = List.of(SampleMethods.class, SampleTarget.class, ISampleTarget.class);
+	private static boolean initialized;
+	
+	static synchronized void initialize() {
+		if (!initialized) {
+			// Transformed classes are reported on the standard output, which would dominate the measured time
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+			Agent.initialize();
+			initialized = true;
+		}
+	}
+	
+	static @NotNull Map<Type, byte[]> readClasses() {
+		Map<Type, byte[]> classes = new LinkedHashMap<>();
+		for (java.lang.Class<?> clazz : CLASSES) {
+			classes.put(Type.getType(clazz), readClass(Type.getType(clazz)));
+		}
+		return classes;
+	}
+	
+	static byte @NotNull [] readClass(@NotNull Type type) {
+		try (InputStream stream = ClassLoader.getSystemResourceAsStream(type.getInternalName() + ".class")) {
+			if (stream == null) {
+				throw new IllegalStateException("Sample class not found in classpath: " + type.getClassName());
+			}
+			return stream.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read sample class: " + type.getClassName(), e);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package net.luis.agent.benchmark.jmh;
+
+import net.luis.agent.Agent;
+import net.luis.agent.asm.data.*;
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.scanner.TargetClassScanner;
+import net.luis.sample.ISampleTarget;
+import net.luis.sample.SampleTarget;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static net.luis.agent.asm.Types.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetScannerBenchmark {
+	
+	private final List<TargetLookup> lookups = new ArrayList<>();
+	private byte[] bytes;
+	
+	@Setup
+	public void setup() {
+		Samples.initialize();
+		Class iface = Agent.getClass(Type.getType(ISampleTarget.class));
+		Class target = Agent.getClass(Type.getType(SampleTarget.class));
+		for (Method method : iface.getMethods().values()) {
+			Annotation annotation = method.isAnnotatedWith(INJECT) ? method.getAnnotation(INJECT) : method.isAnnotatedWith(REDIRECT) ? method.getAnnotation(REDIRECT) : null;
+			if (annotation != null) {
+				String name = annotation.get("method");
+				this.lookups.add(new TargetLookup(target.getMethods(name).getFirst(), Objects.requireNonNull(annotation.get("target"))));
+			}
+		}
+		this.bytes = Samples.readClass(target.getType());
+	}
+	
+	@Benchmark
+	public void resolveTargets(@NotNull Blackhole blackhole) {
+		TargetClassScanner scanner = new TargetClassScanner();
+		List<TargetClassScanner.Target> targets = this.lookups.stream().map(lookup -> scanner.addTarget(lookup.method(), lookup.target())).toList();
+		scanner.scan(this.bytes);
+		for (TargetClassScanner.Target target : targets) {
+			blackhole.consume(target.getTargetLine());
+		}
+	}
+	
+	private record TargetLookup(@NotNull Method method, @NotNull Annotation target) {}
+}
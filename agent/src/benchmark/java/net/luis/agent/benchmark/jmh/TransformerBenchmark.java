@@ -0,0 +1,57 @@
+package net.luis.agent.benchmark.jmh;
+
+import net.luis.agent.Main;
+import net.luis.agent.asm.base.BaseClassTransformer;
+import net.luis.agent.asm.base.ClassTransformerPipeline;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformerBenchmark {
+	
+	@Param({
+		"InterfaceInjectionTransformer", "ImplementedTransformer", "AccessorTransformer", "AssignorTransformer", "InvokerTransformer", "InjectTransformer", "RedirectTransformer", "InterfaceTransformer",
+		"ScheduledTransformer", "AsyncTransformer", "CaughtTransformer", "PatternTransformer", "StringTransformer", "NotNullTransformer", "DefaultTransformer", "RangeTransformer", "RestrictedAccessTransformer"
+	})
+	public String transformer;
+	private ClassTransformerPipeline pipeline;
+	private Map<Type, byte[]> classes;
+	private ClassLoader loader;
+	private ProtectionDomain domain;
+	
+	@Setup
+	public void setup() {
+		Samples.initialize();
+		BaseClassTransformer transformer = Arrays.stream(Main.createTransformers()).filter(t -> t.getClass().getSimpleName().equals(this.transformer)).findFirst()
+			.orElseThrow(() -> new IllegalArgumentException("Unknown transformer: " + this.transformer));
+		// Each transformer runs alone, so its cost is not hidden by the other stages of the pipeline
+		this.pipeline = new ClassTransformerPipeline(null, new BaseClassTransformer[] { transformer });
+		this.classes = Samples.readClasses();
+		this.loader = TransformerBenchmark.class.getClassLoader();
+		this.domain = TransformerBenchmark.class.getProtectionDomain();
+	}
+	
+	@Benchmark
+	public void transform(@NotNull Blackhole blackhole) {
+		for (Map.Entry<Type, byte[]> entry : this.classes.entrySet()) {
+			blackhole.consume(this.pipeline.transform(this.loader, entry.getKey().getInternalName(), null, this.domain, entry.getValue()));
+		}
+	}
+}
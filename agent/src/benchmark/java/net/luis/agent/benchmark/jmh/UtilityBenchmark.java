@@ -0,0 +1,54 @@
+package net.luis.agent.benchmark.jmh;
+
+import net.luis.agent.asm.ASMUtils;
+import net.luis.agent.asm.signature.*;
+import net.luis.agent.util.factory.StringFactoryRegistry;
+import net.luis.utils.io.reader.ScopedStringReader;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityBenchmark {
+	
+	private static final Type LIST = Type.getType(List.class);
+	private static final Type CONTAINS = Type.getMethodType("(Ljava/lang/Object;)Z");
+	private static final String SIGNATURE = "<K:Ljava/lang/Object;V:Ljava/lang/Number;>(Ljava/util/Map<TK;TV;>;Ljava/util/List<+Ljava/lang/Number;>;[TK;)Ljava/util/Map<TK;Ljava/util/List<TV;>;>;";
+	private static final ActualType NUMBER_LIST = ActualType.of(LIST, List.of(ActualType.of(Type.getType(Number.class))));
+	private static final ActualType ENVIRONMENT = ActualType.of(Type.getType(LinkedHashMap.class), List.of(ActualType.of(Type.getType(String.class)), ActualType.of(Type.getType(Object.class))));
+	
+	@Benchmark
+	public void matchesTarget(@NotNull Blackhole blackhole) {
+		blackhole.consume(ASMUtils.matchesTarget("contains", LIST, "contains", CONTAINS));
+		blackhole.consume(ASMUtils.matchesTarget("List#contains", LIST, "contains", CONTAINS));
+		blackhole.consume(ASMUtils.matchesTarget("java.util.List#contains(Object)", LIST, "contains", CONTAINS));
+		blackhole.consume(ASMUtils.matchesTarget("Set#contains", LIST, "contains", CONTAINS));
+	}
+	
+	@Benchmark
+	public @NotNull List<ActualType> parseSignature() {
+		return SignatureUtils.parseSignatureParameters(SignatureUtils.parseGenericDeclarations(SIGNATURE), SIGNATURE);
+	}
+	
+	@Benchmark
+	public void createFromString(@NotNull Blackhole blackhole) {
+		blackhole.consume(StringFactoryRegistry.INSTANCE.create("int", ActualType.of(Type.INT_TYPE), new ScopedStringReader("42")));
+		blackhole.consume(StringFactoryRegistry.INSTANCE.create("java.util.List", NUMBER_LIST, new ScopedStringReader("[1, '2.05']")));
+		blackhole.consume(StringFactoryRegistry.INSTANCE.create("java.util.LinkedHashMap", ENVIRONMENT, new ScopedStringReader("{user=test,debug=false,threads=2}")));
+	}
+}
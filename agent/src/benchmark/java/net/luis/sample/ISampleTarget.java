@@ -0,0 +1,48 @@
+package net.luis.sample;
+
+import net.luis.agent.annotation.implementation.*;
+import net.luis.agent.annotation.util.Local;
+import net.luis.agent.annotation.util.Target;
+import net.luis.agent.util.TargetMode;
+import net.luis.agent.util.TargetType;
+
+import java.util.List;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@InjectInterface(SampleTarget.class)
+public interface ISampleTarget {
+	
+	@Accessor
+	List<String> getNames();
+	
+	@Assignor(target = "count")
+	void setCount(int count);
+	
+	@Invoker
+	String invokeSecret(int value);
+	
+	@Inject(method = "build", target = @Target(value = "List#contains", type = TargetType.INVOKE))
+	default void injectInvoke() {
+		System.out.println("Invoke");
+	}
+	
+	@Inject(method = "build", target = @Target(type = TargetType.RETURN))
+	default void injectReturn(@Local String result) {
+		System.out.println("Return: " + result);
+	}
+	
+	@Redirect(method = "build", target = @Target(value = "List#size", type = TargetType.INVOKE))
+	default int redirectSize() {
+		return 42;
+	}
+	
+	@Inject(method = "run", target = @Target(value = "System#getProperty", type = TargetType.INVOKE, mode = TargetMode.AFTER))
+	static void injectLambda() {
+		System.out.println("Lambda");
+	}
+}
@@ -0,0 +1,60 @@
+package net.luis.sample;
+
+import net.luis.agent.annotation.*;
+import net.luis.agent.annotation.range.Above;
+import net.luis.agent.annotation.range.BelowEqual;
+import net.luis.agent.annotation.string.condition.NotEmpty;
+import net.luis.agent.annotation.string.modification.*;
+import org.intellij.lang.annotations.Pattern;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class SampleMethods {
+	
+	@RestrictedAccess("SampleMethods#main")
+	public static void execute(@Pattern("^[a-z]*$") String command, @Default("[-t, -r]") String[] args, @Default("[1, '2.05']") List<Number> values, @Default("{user=test,debug=false,threads=2}") LinkedHashMap<String, Object> environment) {
+		@Substring("1:*-1")
+		@NotEmpty
+		String arguments = Arrays.toString(args);
+		System.out.println("Command: " + command);
+		System.out.println("Args: " + arguments);
+		System.out.println("Values: " + values);
+		System.out.println("Environment: " + environment);
+	}
+	
+	public static @UpperCase String format(@NotNull String value) {
+		@Trim String trimmed = "  " + value + "  ";
+		return trimmed;
+	}
+	
+	@Above(0)
+	public static int validateIndex(@BelowEqual(1) Integer index) {
+		System.out.println("Index: " + index);
+		return index;
+	}
+	
+	@Async
+	public static void async(int i, @NotNull String str, @Default("[]") List<String> values) {
+		System.out.println("i: " + i);
+		System.out.println("str: " + str);
+		System.out.println("values: " + values);
+	}
+	
+	@Caught
+	public static void caught() {
+		throw new RuntimeException("Caught Exception");
+	}
+	
+	@Scheduled(5000)
+	public static void scheduled(int count, @NotNull ScheduledFuture<?> future) {
+		System.out.println(count + " " + future);
+	}
+}
@@ -0,0 +1,41 @@
+package net.luis.sample;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class SampleTarget {
+	
+	private final List<String> names = new ArrayList<>(List.of("a", "b"));
+	private final int count;
+	
+	public SampleTarget() {
+		this.count = 3;
+	}
+	
+	public @NotNull String build(int times) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			if (this.names.contains("a")) {
+				builder.append(this.names.size());
+			}
+		}
+		String result = builder.toString();
+		return result;
+	}
+	
+	private @NotNull String secret(int value) {
+		return "secret" + value + this.count;
+	}
+	
+	public void run() {
+		Runnable runnable = () -> System.out.println("Version: " + System.getProperty("java.version"));
+		runnable.run();
+	}
+}
@@ -1,14 +1,29 @@
 package net.luis.agent;
 
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.data.Class;
-import net.luis.agent.asm.scanner.ClassFileScanner;
-import net.luis.agent.asm.scanner.ClassPathScanner;
+import net.luis.agent.asm.index.AnnotationIndex;
+import net.luis.agent.asm.index.ClassIndex;
+import net.luis.agent.asm.index.ElementIndex;
+import net.luis.agent.asm.scanner.*;
+import net.luis.agent.asm.type.ClassType;
+import net.luis.agent.asm.type.ScanLevel;
+import net.luis.agent.metrics.AgentMetrics;
+import net.luis.agent.util.ConcurrentCache;
+import net.luis.agent.util.Utils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
 
+import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static net.luis.agent.asm.Types.*;
+
 /**
  *
  * @author Luis-St
@@ -17,35 +32,217 @@ import java.util.stream.Stream;
 
 public class Agent {
 	
-	private static final List<Type> classes = ClassPathScanner.getClasses().stream().filter(type -> !type.getDescriptor().contains("module-info") && !type.getDescriptor().contains("package-info")).toList();
-	private static final List<Type> generated = new ArrayList<>();
-	private static final Map<Type, Class> cache = new HashMap<>();
+	private static final Map<File, List<Type>> sources = Utils.make(new LinkedHashMap<>(), map -> ClassPathScanner.getClassesBySource().forEach((source, types) -> {
+		map.put(source, types.stream().filter(type -> !type.getDescriptor().contains("module-info") && !type.getDescriptor().contains("package-info")).toList());
+	}));
+	private static final List<Type> discovered = new ArrayList<>();
+	private static final ConcurrentCache<Type, Class> cache = new ConcurrentCache<>();
+	// Classes of other class loaders are cached and indexed per loader, the loaders are weakly referenced so that they can still be unloaded
+	private static final Map<ClassLoader, LoaderData> loaders = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final AnnotationIndex annotations = new AnnotationIndex();
+	private static final Map</*Type;Type*/String, /*Common Super Class*/String> commonSuperClasses = new ConcurrentHashMap<>();
+	private static ScanLevel level = ScanLevel.CODE;
 	
-	public static void initialize(@NotNull Map<Type, byte[]> generatedLookup) {
+	public static void initialize() {
 		long start = System.currentTimeMillis();
-		classes.forEach(type -> cache.put(type, ClassFileScanner.scanClass(type)));
-		System.out.println("Loaded " + classes.size() + " classes");
-		generated.addAll(generatedLookup.keySet());
-		generated.forEach(type -> cache.put(type, ClassFileScanner.scanGeneratedClass(generatedLookup.get(type))));
-		System.out.println("Loaded " + generated.size() + " generated classes");
+		level = AgentOptions.getEnum("scan.level", ScanLevel.CODE);
+		Map<File, List<Type>> remaining = AgentOptions.getBoolean("index.elements", true) ? loadElementIndexes() : sources;
+		int count = count(remaining);
+		if (AgentOptions.getBoolean("scan.lazy", false)) {
+			int discoverable = 0;
+			long discoveryStart = System.nanoTime();
+			boolean prefilter = AgentOptions.getBoolean("scan.prefilter", true);
+			for (Type type : remaining.values().stream().flatMap(List::stream).toList()) {
+				if (prefilter && !ConstantPoolFilter.AGENT.matches(type)) {
+					continue;
+				}
+				DiscoveryScanner scanner = new DiscoveryScanner();
+				ClassFileScanner.scanClass(type, scanner);
+				if (scanner.isDiscoverable()) {
+					discovered.add(type);
+					cache.put(type, ClassFileScanner.scanClass(type, level));
+					discoverable++;
+				}
+			}
+			AgentMetrics.recordPhase("discovery", System.nanoTime() - discoveryStart);
+			System.out.println("Discovered " + discoverable + " of " + count + " classes, remaining classes are loaded on demand");
+		} else {
+			String indexFile = AgentOptions.get("index.file");
+			ClassIndex index = indexFile == null || indexFile.isBlank() ? null : ClassIndex.open(new File(indexFile));
+			int before = discovered.size();
+			Map<File, List<Type>> unindexed = index == null ? remaining : loadIndexed(index, remaining);
+			int loaded = discovered.size() - before;
+			Map<File, List<Type>> rejected = new LinkedHashMap<>();
+			Map<File, List<Type>> scanned = AgentOptions.getBoolean("scan.prefilter", true) ? prefilter(unindexed, rejected) : unindexed;
+			long scanStart = System.nanoTime();
+			scan(scanned);
+			AgentMetrics.recordPhase("scan", System.nanoTime() - scanStart);
+			rejected.values().forEach(types -> annotations.cover(types, true));
+			if (index != null) {
+				unindexed.keySet().forEach(source -> index.write(source, scanned.getOrDefault(source, List.of()).stream().map(cache::getIfPresent).filter(Objects::nonNull).toList()));
+				index.save();
+				System.out.println("Loaded " + loaded + " classes from index, rescanned " + unindexed.size() + " of " + remaining.size() + " sources");
+			}
+			scanned.values().forEach(discovered::addAll);
+			System.out.println("Loaded " + (loaded + count(scanned)) + " of " + count + " classes, remaining classes are loaded on demand");
+		}
+		discovered.forEach(type -> annotations.add(getClass(type)));
 		System.out.println("Initialized agent in " + (System.currentTimeMillis() - start) + "ms");
+		AgentMetrics.recordPhase("initialize", TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - start));
+		if (AgentOptions.getBoolean("cache.statistics", false)) {
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println("Metadata cache: " + cache.getStatistics()), "Agent Cache Statistics"));
+		}
+	}
+	
+	private static @NotNull Map<File, List<Type>> loadElementIndexes() {
+		Map<File, List<Type>> unindexed = new LinkedHashMap<>();
+		Set<Type> indexed = new LinkedHashSet<>();
+		int sourceCount = 0;
+		int missing = 0;
+		for (Map.Entry<File, List<Type>> entry : sources.entrySet()) {
+			ElementIndex index = ElementIndex.read(entry.getKey());
+			if (index == null) {
+				unindexed.put(entry.getKey(), entry.getValue());
+				continue;
+			}
+			Map<Boolean, List<Type>> listed = entry.getValue().stream().collect(Collectors.partitioningBy(index::isIndexed));
+			index.getElements().stream().filter(ElementIndex.Element::isDiscoverable).map(ElementIndex.Element::owner).forEach(indexed::add);
+			annotations.addAll(index.getElements());
+			annotations.cover(listed.get(true), false);
+			if (!listed.get(false).isEmpty()) {
+				unindexed.put(entry.getKey(), listed.get(false));
+			}
+			sourceCount++;
+			missing += listed.get(false).size();
+		}
+		if (sourceCount > 0) {
+			discovered.addAll(indexed);
+			System.out.println("Discovered " + indexed.size() + " classes from element indexes of " + sourceCount + " sources, " + missing + " classes missing from the indexes are scanned");
+		}
+		return unindexed;
 	}
 	
-	public static @NotNull List<Type> getGenerated() {
-		return generated;
+	private static @NotNull Map<File, List<Type>> prefilter(@NotNull Map<File, List<Type>> sources, @NotNull Map<File, List<Type>> rejected) {
+		Map<File, List<Type>> accepted = ConstantPoolFilter.AGENT.filter(sources, rejected);
+		scan(accepted);
+		Set<String> patterns = Stream.concat(discovered.stream(), accepted.values().stream().flatMap(List::stream)).map(Agent::getClass)
+			.filter(clazz -> clazz.is(ClassType.ANNOTATION) && clazz.isAnnotatedWith(PATTERN)).map(clazz -> clazz.getType().getDescriptor()).collect(Collectors.toSet());
+		if (!patterns.isEmpty()) {
+			Map<File, List<Type>> unmatched = new LinkedHashMap<>();
+			Map<File, List<Type>> patterned = new ConstantPoolFilter(patterns).filter(rejected, unmatched);
+			patterned.forEach((source, types) -> accepted.merge(source, types, (first, second) -> Stream.concat(first.stream(), second.stream()).toList()));
+			rejected.clear();
+			rejected.putAll(unmatched);
+		}
+		if (!sources.isEmpty()) {
+			System.out.println("Prefiltered " + count(sources) + " classes, " + count(accepted) + " reference agent annotations");
+		}
+		return accepted;
 	}
 	
-	public static @NotNull Class getClass(@NotNull Type type) {
-		Class clazz = ClassFileScanner.scanClass(type);
-		if (cache.containsKey(type)) {
-			return cache.get(type);
+	private static void scan(@NotNull Map<File, List<Type>> sources) {
+		Map<File, List<Type>> missing = Utils.make(new LinkedHashMap<>(), map -> sources.forEach((source, types) -> map.put(source, types.stream().filter(type -> !cache.containsKey(type)).toList())));
+		if (AgentOptions.getBoolean("scan.parallel", false)) {
+			new ParallelClassScanner(AgentOptions.getInt("scan.workers", Runtime.getRuntime().availableProcessors()), level).scan(missing, cache::put);
 		} else {
-			cache.put(type, clazz);
+			missing.values().forEach(types -> types.forEach(type -> cache.put(type, ClassFileScanner.scanClass(type, level))));
+		}
+	}
+	
+	private static int count(@NotNull Map<File, List<Type>> sources) {
+		return sources.values().stream().mapToInt(List::size).sum();
+	}
+	
+	private static @NotNull Map<File, List<Type>> loadIndexed(@NotNull ClassIndex index, @NotNull Map<File, List<Type>> sources) {
+		Map<File, List<Type>> unindexed = new LinkedHashMap<>();
+		sources.forEach((source, types) -> {
+			List<Class> indexed = index.read(source);
+			if (indexed == null) {
+				unindexed.put(source, types);
+			} else {
+				indexed.forEach(clazz -> {
+					cache.put(clazz.getType(), clazz);
+					discovered.add(clazz.getType());
+				});
+			}
+		});
+		return unindexed;
+	}
+	
+	public static @NotNull AnnotationIndex getAnnotationIndex() {
+		return annotations;
+	}
+	
+	public static @NotNull AnnotationIndex getAnnotationIndex(@Nullable ClassLoader loader) {
+		return isSystemLoader(loader) ? annotations : getLoaderData(loader).annotations();
+	}
+	
+	public static @NotNull Map<String, String> getCommonSuperClasses(@Nullable ClassLoader loader) {
+		return isSystemLoader(loader) ? commonSuperClasses : getLoaderData(loader).commonSuperClasses();
+	}
+	
+	public static void invalidateHierarchies() {
+		// Classes of other class loaders may extend classes of the system class loader, all cached common super classes are therefore dropped
+		commonSuperClasses.clear();
+		synchronized (loaders) {
+			loaders.values().forEach(data -> data.commonSuperClasses().clear());
+		}
+	}
+	
+	public static @NotNull List<Type> getDiscovered() {
+		return discovered;
+	}
+	
+	public static @NotNull ConcurrentCache<Type, Class> getMetadataCache() {
+		return cache;
+	}
+	
+	public static @NotNull ConcurrentCache<Type, Class> getMetadataCache(@Nullable ClassLoader loader) {
+		return isSystemLoader(loader) ? cache : getLoaderData(loader).cache();
+	}
+	
+	public static boolean isSystemLoader(@Nullable ClassLoader loader) {
+		return loader == null || loader == ClassLoader.getSystemClassLoader() || loader == ClassLoader.getPlatformClassLoader();
+	}
+	
+	private static @NotNull LoaderData getLoaderData(@NotNull ClassLoader loader) {
+		return loaders.computeIfAbsent(loader, l -> new LoaderData(new ConcurrentCache<>(), new AnnotationIndex(), new ConcurrentHashMap<>()));
+	}
+	
+	public static @NotNull Class getClass(@NotNull Type type) {
+		TransformationContext context = TransformationContext.getCurrent();
+		if (context == null) {
+			return getClass(null, type);
+		} else if (context.getType().equals(type)) {
+			return getClass(context.getLoader(), type, context.getBuffer());
+		}
+		return getClass(context.getLoader(), type);
+	}
+	
+	public static @NotNull Class getClass(@Nullable ClassLoader loader, @NotNull Type type) {
+		ConcurrentCache<Type, Class> classes = getMetadataCache(loader);
+		if (classes == cache) {
+			return cache.get(type, t -> ClassFileScanner.scanClass(t, level));
+		}
+		Class clazz = classes.getIfPresent(type);
+		if (clazz != null) {
 			return clazz;
 		}
+		// Class loaders delegate to their parent first, so classes visible to the system class loader share its metadata
+		if (cache.containsKey(type) || ClassFileScanner.isSystemClass(type)) {
+			return getClass(null, type);
+		}
+		return classes.get(type, t -> ClassFileScanner.scanClass(t, Objects.requireNonNull(loader), level));
+	}
+	
+	public static @NotNull Class getClass(@Nullable ClassLoader loader, @NotNull Type type, byte @NotNull [] buffer) {
+		// The buffer is the class file the jvm is about to define with the given loader, there is no need to read it again
+		return getMetadataCache(loader).get(type, t -> ClassFileScanner.scanClass(buffer));
 	}
 	
 	public static @NotNull Stream<Class> stream() {
-		return classes.stream().map(Agent::getClass);
+		return discovered.stream().map(Agent::getClass);
 	}
+	
+	private record LoaderData(@NotNull ConcurrentCache<Type, Class> cache, @NotNull AnnotationIndex annotations, @NotNull Map<String, String> commonSuperClasses) {}
 }
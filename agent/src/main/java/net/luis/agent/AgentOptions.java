@@ -0,0 +1,79 @@
+package net.luis.agent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class AgentOptions {
+	
+	private static final String PROPERTY_PREFIX = "agent.";
+	private static final Map<String, String> options = new ConcurrentHashMap<>();
+	
+	public static void initialize(@Nullable String agentArgs) {
+		// A dynamically attached agent may be initialized several times, only the arguments of the latest attach apply
+		options.clear();
+		if (agentArgs == null || agentArgs.isBlank()) {
+			return;
+		}
+		for (String option : agentArgs.split(",")) {
+			int index = option.indexOf('=');
+			if (index == -1) {
+				options.put(option.strip(), "true");
+			} else {
+				options.put(option.substring(0, index).strip(), option.substring(index + 1).strip());
+			}
+		}
+	}
+	
+	public static @Nullable String get(@NotNull String key) {
+		String value = options.get(key);
+		if (value == null) {
+			value = System.getProperty(PROPERTY_PREFIX + key);
+		}
+		return value;
+	}
+	
+	public static @NotNull String getString(@NotNull String key, @NotNull String defaultValue) {
+		String value = get(key);
+		return value == null || value.isBlank() ? defaultValue : value;
+	}
+	
+	public static boolean getBoolean(@NotNull String key, boolean defaultValue) {
+		String value = get(key);
+		return value == null || value.isBlank() ? defaultValue : Boolean.parseBoolean(value);
+	}
+	
+	public static int getInt(@NotNull String key, int defaultValue) {
+		String value = get(key);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			System.err.println("Invalid value for agent option '" + key + "': " + value);
+			return defaultValue;
+		}
+	}
+	
+	public static <T extends Enum<T>> @NotNull T getEnum(@NotNull String key, @NotNull T defaultValue) {
+		String value = get(key);
+		if (value == null || value.isBlank()) {
+			return defaultValue;
+		}
+		try {
+			return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			System.err.println("Invalid value for agent option '" + key + "': " + value);
+			return defaultValue;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package net.luis.agent;
+
+import net.luis.agent.asm.base.ClassTransformerPipeline;
+import net.luis.agent.asm.scanner.ClassPathReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassRetransformer {
+	
+	private static Instrumentation instrumentation;
+	private static ClassTransformerPipeline pipeline;
+	
+	public static synchronized boolean isAttached() {
+		return pipeline != null;
+	}
+	
+	public static synchronized void attach(@NotNull Instrumentation inst, @NotNull ClassTransformerPipeline transformer) {
+		if (pipeline != null) {
+			System.out.println("Agent is already attached");
+			return;
+		}
+		instrumentation = inst;
+		pipeline = transformer;
+		inst.addTransformer(transformer, true);
+		if (!inst.isRetransformClassesSupported()) {
+			System.err.println("Retransformation is not supported by this jvm, only classes loaded from now on are transformed");
+			return;
+		}
+		retransform(inst, "Retransformed", clazz -> {
+			try {
+				ClassLoader loader = clazz.getClassLoader();
+				String name = Type.getInternalName(clazz) + ".class";
+				byte[] bytes = Agent.isSystemLoader(loader) ? ClassPathReader.readBytes(name) : readBytes(loader, name);
+				return bytes != null && transformer.isInterested(loader, Type.getType(clazz), bytes);
+			} catch (IOException e) {
+				return false;
+			}
+		});
+	}
+	
+	public static synchronized void rollback() {
+		if (pipeline == null) {
+			System.out.println("Agent is not attached, nothing to roll back");
+			return;
+		}
+		// Each attach creates a new instrumentation, the transformer can only be removed from the one it was added to
+		Instrumentation inst = instrumentation;
+		ClassTransformerPipeline transformer = pipeline;
+		instrumentation = null;
+		pipeline = null;
+		// Without the agent's transformer the jvm retransforms the classes from their original class files
+		inst.removeTransformer(transformer);
+		retransform(inst, "Restored", clazz -> transformer.isTransformed(Type.getType(clazz)));
+	}
+	
+	//region Helper methods
+	private static byte @Nullable [] readBytes(@NotNull ClassLoader loader, @NotNull String name) throws IOException {
+		try (InputStream stream = loader.getResourceAsStream(name)) {
+			return stream == null ? null : stream.readAllBytes();
+		}
+	}
+	
+	private static void retransform(@NotNull Instrumentation inst, @NotNull String action, @NotNull Predicate<Class<?>> filter) {
+		long start = System.currentTimeMillis();
+		List<Class<?>> classes = new ArrayList<>();
+		for (Class<?> clazz : inst.getAllLoadedClasses()) {
+			if (!clazz.isArray() && !clazz.isPrimitive() && !clazz.isHidden() && inst.isModifiableClass(clazz) && filter.test(clazz)) {
+				classes.add(clazz);
+			}
+		}
+		int maxBatchSize = Math.max(1, AgentOptions.getInt("retransform.batch", 256));
+		int maxPause = Math.max(1, AgentOptions.getInt("retransform.pause", 20));
+		List<Class<?>> failed = new ArrayList<>();
+		int batchSize = Math.min(16, maxBatchSize);
+		int batches = 0;
+		int index = 0;
+		while (index < classes.size()) {
+			List<Class<?>> batch = classes.subList(index, Math.min(index + batchSize, classes.size()));
+			long batchStart = System.nanoTime();
+			retransform(inst, batch, failed);
+			long millis = (System.nanoTime() - batchStart) / 1_000_000;
+			index += batch.size();
+			batches++;
+			// All classes of a batch are redefined in a single safepoint operation, the batch size is adapted so that each batch stays below the pause limit
+			if (millis > maxPause) {
+				batchSize = Math.max(1, batchSize / 2);
+			} else if (maxPause > millis * 2) {
+				batchSize = Math.min(maxBatchSize, batchSize * 2);
+			}
+		}
+		System.out.println(action + " " + (classes.size() - failed.size()) + " of " + classes.size() + " classes in " + batches + " batches in " + (System.currentTimeMillis() - start) + "ms");
+		if (!failed.isEmpty()) {
+			System.err.println("Unable to retransform " + failed.size() + " classes, they require a restart of the jvm: " + failed.stream().map(Class::getName).toList());
+		}
+	}
+	
+	private static void retransform(@NotNull Instrumentation inst, @NotNull List<Class<?>> batch, @NotNull List<Class<?>> failed) {
+		try {
+			inst.retransformClasses(batch.toArray(Class<?>[]::new));
+		} catch (UnmodifiableClassException | UnsupportedOperationException | LinkageError e) {
+			// If one class of a batch fails none of them is redefined, changes to the class layout like added fields or interfaces cannot be retransformed
+			if (batch.size() == 1) {
+				failed.add(batch.getFirst());
+			} else {
+				batch.forEach(clazz -> retransform(inst, List.of(clazz), failed));
+			}
+		}
+	}
+	//endregion
+}
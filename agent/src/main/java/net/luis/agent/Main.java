@@ -1,16 +1,15 @@
 package net.luis.agent;
 
-import net.luis.agent.asm.generation.GenerationLoader;
-import net.luis.agent.asm.generation.generators.MemorizedSupplierGenerator;
-import net.luis.agent.asm.generation.generators.RuntimeUtilsGenerator;
-import net.luis.agent.asm.generation.generators.concurrent.*;
+import net.luis.agent.asm.ClassDumper;
+import net.luis.agent.asm.base.BaseClassTransformer;
+import net.luis.agent.asm.base.ClassTransformerPipeline;
 import net.luis.agent.asm.transformer.implementation.*;
 import net.luis.agent.asm.transformer.method.*;
+import net.luis.agent.metrics.AgentMetrics;
 import org.jetbrains.annotations.NotNull;
-import org.objectweb.asm.Type;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.instrument.Instrumentation;
-import java.util.*;
 
 /**
  *
@@ -20,53 +19,74 @@ import java.util.*;
 
 public class Main {
 	
-	public static void premain(@NotNull String agentArgs, @NotNull Instrumentation inst) {
+	private static boolean loadedOnStartup;
+	private static boolean initialized;
+	
+	public static void premain(@Nullable String agentArgs, @NotNull Instrumentation inst) {
 		System.out.println("Loading agent");
-		initialize(inst);
+		loadedOnStartup = true;
+		AgentOptions.initialize(agentArgs);
+		initialize();
 		initializeTransformers(inst);
 		System.out.println("Agent loaded");
 	}
 	
-	//region Initialization
-	private static void initialize(@NotNull Instrumentation inst) {
-		inst.redefineModule(ModuleLayer.boot().findModule("java.base").orElseThrow(), Set.of(), Map.of(), Map.of("java.lang", Set.of(Main.class.getModule())), Set.of(), Map.of());
-		Agent.initialize(generateRuntimeClasses());
+	public static synchronized void agentmain(@Nullable String agentArgs, @NotNull Instrumentation inst) {
+		if (loadedOnStartup) {
+			System.err.println("Agent was loaded on startup and cannot be attached");
+			return;
+		}
+		AgentOptions.initialize(agentArgs);
+		if (AgentOptions.getBoolean("rollback", false)) {
+			System.out.println("Rolling back agent");
+			ClassRetransformer.rollback();
+			return;
+		}
+		System.out.println("Attaching agent");
+		// The metadata is kept after a rollback, since classes cannot be unloaded
+		if (!initialized) {
+			initialize();
+		}
+		ClassRetransformer.attach(inst, new ClassTransformerPipeline(createTransformers()));
+		System.out.println("Agent attached");
 	}
 	
-	private static @NotNull Map<Type, byte[]> generateRuntimeClasses() {
-		GenerationLoader loader = new GenerationLoader();
-		Map<Type, byte[]> generated = new HashMap<>();
-		loader.loadClass(generated, new RuntimeUtilsGenerator());
-		loader.loadClass(generated, new DaemonThreadFactoryGenerator());
-		loader.loadClass(generated, new CountingRunnableGenerator());
-		loader.loadClass(generated, new CancelableRunnableGenerator());
-		loader.loadClass(generated, new ContextRunnableGenerator());
-		loader.loadClass(generated, new MemorizedSupplierGenerator());
-		return generated;
+	//region Initialization
+	private static void initialize() {
+		AgentMetrics.initialize();
+		ClassDumper.initialize();
+		Agent.initialize();
+		initialized = true;
 	}
 	
 	private static void initializeTransformers(@NotNull Instrumentation inst) {
-		inst.addTransformer(new InterfaceInjectionTransformer());
-		inst.addTransformer(new ImplementedTransformer());
-		inst.addTransformer(new AccessorTransformer());
-		inst.addTransformer(new AssignorTransformer());
-		inst.addTransformer(new InvokerTransformer());
-		inst.addTransformer(new InjectTransformer());
-		inst.addTransformer(new RedirectTransformer());
-		inst.addTransformer(new InterfaceTransformer());
-		
-		inst.addTransformer(new ScheduledTransformer()); // 3: Schedule
-		inst.addTransformer(new AsyncTransformer()); // 2: Wrap in async
-		inst.addTransformer(new CaughtTransformer()); // 1: Wrap in try-catch
-		
-		inst.addTransformer(new PatternTransformer()); // 4: Check pattern
-		inst.addTransformer(new StringTransformer()); // 3: Modify/check string
-		inst.addTransformer(new NotNullTransformer()); // 2: Throw if null
-		inst.addTransformer(new DefaultTransformer()); // 1: Ensure not null
-		
-		inst.addTransformer(new RangeTransformer());
-		
-		inst.addTransformer(new RestrictedAccessTransformer());
+		inst.addTransformer(new ClassTransformerPipeline(createTransformers()));
+	}
+	
+	public static BaseClassTransformer @NotNull [] createTransformers() {
+		return new BaseClassTransformer[] {
+			new InterfaceInjectionTransformer(),
+			new ImplementedTransformer(),
+			new AccessorTransformer(),
+			new AssignorTransformer(),
+			new InvokerTransformer(),
+			new InjectTransformer(),
+			new RedirectTransformer(),
+			new InterfaceTransformer(),
+			
+			new ScheduledTransformer(), // 3: Schedule
+			new AsyncTransformer(), // 2: Wrap in async
+			new CaughtTransformer(), // 1: Wrap in try-catch
+			
+			new PatternTransformer(), // 4: Check pattern
+			new StringTransformer(), // 3: Modify/check string
+			new NotNullTransformer(), // 2: Throw if null
+			new DefaultTransformer(), // 1: Ensure not null
+			
+			new RangeTransformer(),
+			
+			new RestrictedAccessTransformer()
+		};
 	}
 	//endregion
 }
\ No newline at end of file
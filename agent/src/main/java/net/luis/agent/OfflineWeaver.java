@@ -0,0 +1,223 @@
+package net.luis.agent;
+
+import net.luis.agent.asm.base.ClassTransformerPipeline;
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.scanner.ClassPathReader;
+import net.luis.agent.asm.transformer.implementation.InterfaceTransformer;
+import net.luis.agent.runtime.RuntimeUtils;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class OfflineWeaver {
+	
+	private static final String RUNTIME_ARCHIVE = "agent-runtime.jar";
+	private static final String RUNTIME_PACKAGE = "net/luis/agent/runtime/";
+	
+	public static void main(String @NotNull [] args) throws IOException, InterruptedException {
+		if (2 > args.length) {
+			System.err.println("Usage: OfflineWeaver <output directory> <jar or class directory>...");
+			System.err.println("The inputs must be on the class path, class metadata is only read from the class path");
+			System.exit(1);
+		}
+		for (int i = 1; i < args.length; i++) {
+			if (!isOnClassPath(new File(args[i]))) {
+				System.err.println("Input " + args[i] + " is not on the class path, its classes would be woven without their metadata");
+				System.exit(1);
+			}
+		}
+		long start = System.currentTimeMillis();
+		File output = new File(args[0]);
+		Files.createDirectories(output.toPath());
+		Agent.initialize();
+		
+		Set<String> names = new HashSet<>(Set.of(RUNTIME_ARCHIVE));
+		List<Source> sources = new ArrayList<>();
+		for (int i = 1; i < args.length; i++) {
+			File input = new File(args[i]);
+			sources.add(new Source(new File(output, getArchiveName(input, names)), readEntries(input)));
+		}
+		int workers = Math.max(1, AgentOptions.getInt("weave.workers", Runtime.getRuntime().availableProcessors()));
+		int woven = weave(sources, workers);
+		for (Source source : sources) {
+			writeArchive(source.output(), source.entries());
+		}
+		writeArchive(new File(output, RUNTIME_ARCHIVE), readRuntimeEntries());
+		int classes = sources.stream().mapToInt(source -> (int) source.entries().keySet().stream().filter(OfflineWeaver::isClass).count()).sum();
+		System.out.println("Woven " + woven + " of " + classes + " classes from " + sources.size() + " inputs in " + (System.currentTimeMillis() - start) + "ms using " + workers + " workers");
+	}
+	
+	//region Helper methods
+	private static int weave(@NotNull List<Source> sources, int workers) throws InterruptedException {
+		ClassLoader loader = OfflineWeaver.class.getClassLoader();
+		ProtectionDomain domain = OfflineWeaver.class.getProtectionDomain();
+		ClassTransformerPipeline pipeline = new ClassTransformerPipeline(null, Main.createTransformers());
+		List<Callable<Boolean>> independent = new ArrayList<>();
+		Map<Type, Map.Entry<String, byte[]>> dependent = new HashMap<>();
+		for (Source source : sources) {
+			for (Map.Entry<String, byte[]> entry : source.entries().entrySet()) {
+				if (!isClass(entry.getKey())) {
+					continue;
+				}
+				String className = entry.getKey().substring(0, entry.getKey().length() - ".class".length());
+				if (pipeline.isIndependent(loader, Type.getObjectType(className), entry.getValue())) {
+					independent.add(() -> weaveClass(pipeline, loader, domain, className, entry));
+				} else {
+					dependent.put(Type.getObjectType(className), entry);
+				}
+			}
+		}
+		// Classes whose transformation updates metadata shared with other classes are woven first and in the order the agent would see them,
+		// the jvm transforms a class before its super types and injected interfaces, because they are loaded while the class is defined
+		Map<Type, Integer> depths = new HashMap<>();
+		List<Type> ordered = dependent.keySet().stream().sorted(Comparator.comparingInt((Type type) -> getDepth(type, dependent.keySet(), depths)).reversed().thenComparing(Type::getInternalName)).toList();
+		int woven = 0;
+		for (Type type : ordered) {
+			if (weaveClass(pipeline, loader, domain, type.getInternalName(), dependent.get(type))) {
+				woven++;
+			}
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		try {
+			for (Future<Boolean> future : executor.invokeAll(independent)) {
+				if (future.get()) {
+					woven++;
+				}
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Failed to weave classes", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+		return woven;
+	}
+	
+	private static int getDepth(@NotNull Type type, @NotNull Set<Type> types, @NotNull Map<Type, Integer> depths) {
+		Integer depth = depths.get(type);
+		if (depth == null) {
+			depth = 0;
+			if (types.contains(type)) {
+				depths.put(type, 0);
+				Class clazz = Agent.getClass(type);
+				List<String> injected = InterfaceTransformer.getInjectionTargets().getOrDefault(type.getInternalName(), List.of());
+				for (Type superType : Stream.concat(Stream.of(clazz.getSuperType()), Stream.concat(clazz.getInterfaces().stream(), injected.stream().map(Type::getObjectType))).toList()) {
+					depth = Math.max(depth, getDepth(superType, types, depths) + 1);
+				}
+			}
+			depths.put(type, depth);
+		}
+		return depth;
+	}
+	
+	private static boolean weaveClass(@NotNull ClassTransformerPipeline pipeline, @NotNull ClassLoader loader, @NotNull ProtectionDomain domain, @NotNull String className, Map.@NotNull Entry<String, byte[]> entry) {
+		byte[] bytes = pipeline.transform(loader, className, null, domain, entry.getValue());
+		if (bytes == null) {
+			return false;
+		}
+		entry.setValue(bytes);
+		return true;
+	}
+	
+	private static boolean isOnClassPath(@NotNull File input) throws IOException {
+		File file = input.getCanonicalFile();
+		for (File entry : ClassPathReader.getClassPath()) {
+			if (entry.exists() && entry.getCanonicalFile().equals(file)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static boolean isClass(@NotNull String name) {
+		return name.endsWith(".class") && !name.startsWith("META-INF/") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+	}
+	
+	private static boolean isSignature(@NotNull String name) {
+		String upperName = name.toUpperCase(Locale.ROOT);
+		return upperName.startsWith("META-INF/") && (upperName.endsWith(".SF") || upperName.endsWith(".RSA") || upperName.endsWith(".DSA") || upperName.endsWith(".EC"));
+	}
+	
+	private static @NotNull String getArchiveName(@NotNull File input, @NotNull Set<String> names) {
+		String name = input.getName().endsWith(".jar") ? input.getName().substring(0, input.getName().length() - ".jar".length()) : input.getName();
+		String archive = name + ".jar";
+		for (int i = 1; !names.add(archive); i++) {
+			archive = name + "-" + i + ".jar";
+		}
+		return archive;
+	}
+	
+	private static @NotNull Map<String, byte[]> readEntries(@NotNull File input) throws IOException {
+		// Signatures are dropped, since they become invalid once a class of the archive is woven
+		Map<String, byte[]> entries = new LinkedHashMap<>();
+		if (input.isDirectory()) {
+			Path root = input.toPath();
+			try (Stream<Path> paths = Files.walk(root)) {
+				for (Path path : paths.filter(Files::isRegularFile).sorted().toList()) {
+					String name = root.relativize(path).toString().replace(File.separatorChar, '/');
+					if (!isSignature(name)) {
+						entries.put(name, Files.readAllBytes(path));
+					}
+				}
+			}
+		} else if (input.isFile()) {
+			try (JarFile jar = new JarFile(input, false)) {
+				for (ZipEntry entry : Collections.list(jar.entries())) {
+					if (!entry.isDirectory() && !isSignature(entry.getName())) {
+						try (InputStream stream = jar.getInputStream(entry)) {
+							entries.put(entry.getName(), stream.readAllBytes());
+						}
+					}
+				}
+			}
+		} else {
+			throw new FileNotFoundException("Input " + input + " is neither a jar nor a class directory");
+		}
+		return entries;
+	}
+	
+	private static @NotNull Map<String, byte[]> readRuntimeEntries() throws IOException {
+		// Woven classes reference the runtime classes, which are otherwise provided by the agent jar
+		try {
+			File source = new File(RuntimeUtils.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+			Map<String, byte[]> entries = new LinkedHashMap<>();
+			readEntries(source).forEach((name, bytes) -> {
+				if (name.startsWith(RUNTIME_PACKAGE)) {
+					entries.put(name, bytes);
+				}
+			});
+			return entries;
+		} catch (URISyntaxException e) {
+			throw new IOException("Unable to locate the runtime classes", e);
+		}
+	}
+	
+	private static void writeArchive(@NotNull File file, @NotNull Map<String, byte[]> entries) throws IOException {
+		try (ZipOutputStream output = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+				output.putNextEntry(new ZipEntry(entry.getKey()));
+				output.write(entry.getValue());
+				output.closeEntry();
+			}
+		}
+	}
+	//endregion
+	
+	private record Source(@NotNull File output, @NotNull Map<String, byte[]> entries) {}
+}
@@ -0,0 +1,116 @@
+package net.luis.agent.asm;
+
+import net.luis.agent.AgentOptions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassDumper {
+	
+	private static final Dump END = new Dump("", new byte[0]);
+	private static final AtomicInteger dropped = new AtomicInteger();
+	private static final List</*Package*/String> packages = new ArrayList<>();
+	private static volatile BlockingQueue<Dump> queue;
+	
+	public static void initialize() {
+		if (!AgentOptions.getBoolean("dump", false)) {
+			return;
+		}
+		// Agent options are separated by ',', therefore the packages are separated by ';'
+		for (String pkg : AgentOptions.getString("dump.packages", "").split(";")) {
+			if (!pkg.isBlank()) {
+				packages.add(pkg.strip().replace('.', '/'));
+			}
+		}
+		String archive = AgentOptions.get("dump.archive");
+		BlockingQueue<Dump> dumps = new ArrayBlockingQueue<>(Math.max(1, AgentOptions.getInt("dump.queue", 1024)));
+		Thread writer = new Thread(() -> write(dumps, archive == null || archive.isBlank() ? null : new File(archive)), "Class Dump Writer");
+		writer.setDaemon(true);
+		writer.start();
+		queue = dumps;
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			queue = null;
+			try {
+				if (dumps.offer(END, 5, TimeUnit.SECONDS)) {
+					writer.join(TimeUnit.SECONDS.toMillis(5));
+				}
+			} catch (InterruptedException ignored) {}
+			if (dropped.get() > 0) {
+				System.err.println("Dropped " + dropped.get() + " class dumps, because the dump queue was full");
+			}
+		}, "Class Dump Shutdown"));
+	}
+	
+	public static void dump(@NotNull String directory, @NotNull Type type, byte @NotNull [] bytes) {
+		BlockingQueue<Dump> dumps = queue;
+		if (dumps == null || !isIncluded(type)) {
+			return;
+		}
+		if (!dumps.offer(new Dump(directory + "/" + type.getInternalName() + ".class", bytes))) {
+			dropped.incrementAndGet();
+		}
+	}
+	
+	//region Helper methods
+	private static boolean isIncluded(@NotNull Type type) {
+		if (packages.isEmpty()) {
+			return true;
+		}
+		for (String pkg : packages) {
+			if (type.getInternalName().startsWith(pkg)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static void write(@NotNull BlockingQueue<Dump> dumps, @Nullable File archive) {
+		List<Dump> batch = new ArrayList<>();
+		Set<String> entries = new HashSet<>();
+		try (ZipOutputStream output = archive == null ? null : openArchive(archive)) {
+			while (true) {
+				batch.add(dumps.take());
+				dumps.drainTo(batch);
+				for (Dump dump : batch) {
+					if (dump == END) {
+						return;
+					}
+					if (output == null) {
+						ASMUtils.saveClass(new File(dump.path()), dump.bytes());
+					} else if (entries.add(dump.path())) {
+						output.putNextEntry(new ZipEntry(dump.path()));
+						output.write(dump.bytes());
+						output.closeEntry();
+					}
+				}
+				batch.clear();
+			}
+		} catch (IOException e) {
+			queue = null;
+			System.err.println("Failed to write class dumps, class dumping is disabled: " + e.getMessage());
+		} catch (InterruptedException ignored) {}
+	}
+	
+	private static @NotNull ZipOutputStream openArchive(@NotNull File archive) throws IOException {
+		File parent = archive.getAbsoluteFile().getParentFile();
+		Files.createDirectories(parent.toPath());
+		return new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(archive)));
+	}
+	//endregion
+	
+	private record Dump(@NotNull String path, byte @NotNull [] bytes) {}
+}
@@ -389,16 +389,14 @@ public class Instrumentations {
 	
 	public static void instrumentFactoryCall(@NotNull MethodVisitor visitor, @NotNull Type factory, @NotNull Type target, @Nullable String classSignature, @Nullable String methodSignature, int parameterIndex, @NotNull String value) {
 		visitor.visitFieldInsn(Opcodes.GETSTATIC, factory.getInternalName(), "INSTANCE", factory.getDescriptor());
-		visitor.visitLdcInsn(target.getDescriptor());
-		visitor.visitMethodInsn(Opcodes.INVOKESTATIC, TYPE.getInternalName(), "getType", "(Ljava/lang/String;)Lorg/objectweb/asm/Type;", false);
-		visitor.visitMethodInsn(Opcodes.INVOKESTATIC, RUNTIME_UTILS.getInternalName(), "getTypeAsString", "(Lorg/objectweb/asm/Type;)Ljava/lang/String;", false);
+		visitor.visitLdcInsn(target.getClassName());
 		if (methodSignature == null) {
 			visitor.visitInsn(Opcodes.ACONST_NULL);
 		} else {
 			visitor.visitLdcInsn(classSignature == null ? "" : classSignature);
 			visitor.visitLdcInsn(methodSignature);
 			loadInteger(visitor, parameterIndex);
-			visitor.visitMethodInsn(Opcodes.INVOKESTATIC, RUNTIME_UTILS.getInternalName(), "getActualType", "(Ljava/lang/String;Ljava/lang/String;I)Lnet/luis/agent/asm/signature/ActualType;", false);
+			visitor.visitMethodInsn(Opcodes.INVOKESTATIC, SIGNATURE_UTILS.getInternalName(), "getActualType", "(Ljava/lang/String;Ljava/lang/String;I)Lnet/luis/agent/asm/signature/ActualType;", false);
 		}
 		visitor.visitTypeInsn(Opcodes.NEW, SCOPED_STRING_READER.getInternalName());
 		visitor.visitInsn(Opcodes.DUP);
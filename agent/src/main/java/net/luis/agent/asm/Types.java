@@ -6,6 +6,7 @@ import net.luis.agent.annotation.range.*;
 import net.luis.agent.annotation.string.condition.*;
 import net.luis.agent.annotation.string.modification.*;
 import net.luis.agent.annotation.util.*;
+import net.luis.agent.asm.signature.SignatureUtils;
 import net.luis.agent.util.Utils;
 import org.intellij.lang.annotations.Pattern;
 import org.jetbrains.annotations.NotNull;
@@ -106,14 +107,18 @@ public class Types {
 	public static final Type SCOPED_STRING_READER = Type.getType("Lnet/luis/utils/io/reader/ScopedStringReader;");
 	//endregion
 	
-	//region Generated types
-	public static final Type RUNTIME_UTILS = Type.getType("Lnet/luis/agent/generated/RuntimeUtils;");
-	public static final Type MEMORIZED_SUPPLIER = Type.getType("Lnet/luis/agent/generated/MemorizedSupplier;");
+	//region Agent types
+	public static final Type SIGNATURE_UTILS = Type.getType(SignatureUtils.class);
+	//endregion
+	
+	//region Runtime types
+	public static final Type RUNTIME_UTILS = Type.getType("Lnet/luis/agent/runtime/RuntimeUtils;");
+	public static final Type MEMORIZED_SUPPLIER = Type.getType("Lnet/luis/agent/runtime/MemorizedSupplier;");
 	
-	public static final Type DAEMON_THREAD_FACTORY = Type.getType("Lnet/luis/agent/generated/DaemonThreadFactory;");
-	public static final Type COUNTING_RUNNABLE = Type.getType("Lnet/luis/agent/generated/CountingRunnable;");
-	public static final Type CANCELABLE_RUNNABLE = Type.getType("Lnet/luis/agent/generated/CancelableRunnable;");
-	public static final Type CONTEXT_RUNNABLE = Type.getType("Lnet/luis/agent/generated/ContextRunnable;");
+	public static final Type DAEMON_THREAD_FACTORY = Type.getType("Lnet/luis/agent/runtime/concurrent/DaemonThreadFactory;");
+	public static final Type COUNTING_RUNNABLE = Type.getType("Lnet/luis/agent/runtime/concurrent/CountingRunnable;");
+	public static final Type CANCELABLE_RUNNABLE = Type.getType("Lnet/luis/agent/runtime/concurrent/CancelableRunnable;");
+	public static final Type CONTEXT_RUNNABLE = Type.getType("Lnet/luis/agent/runtime/concurrent/ContextRunnable;");
 	//endregion
 	
 	public static final Type VOID_METHOD = Type.getType("()V");
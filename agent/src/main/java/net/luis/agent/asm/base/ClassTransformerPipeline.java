@@ -0,0 +1,347 @@
+package net.luis.agent.asm.base;
+
+import net.luis.agent.Agent;
+import net.luis.agent.AgentOptions;
+import net.luis.agent.asm.ClassDumper;
+import net.luis.agent.asm.index.AnnotationIndex;
+import net.luis.agent.asm.index.TransformedClassCache;
+import net.luis.agent.asm.report.CrashReport;
+import net.luis.agent.asm.report.ReportedException;
+import net.luis.agent.asm.scanner.ConstantPoolFilter;
+import net.luis.agent.asm.transformer.implementation.InterfaceTransformer;
+import net.luis.agent.asm.type.ClassType;
+import net.luis.agent.metrics.AgentMetrics;
+import net.luis.agent.metrics.event.TransformerEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.*;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.File;
+import java.lang.instrument.ClassFileTransformer;
+import java.nio.ByteBuffer;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassTransformerPipeline implements ClassFileTransformer {
+	
+	private static final List<String> IGNORED_CLASSES = List.of(
+		"java/", "javax/", "sun/", "com/sun/", "jdk/", // Java
+		"org/jetbrains/annotations/", "org/intellij/lang/annotations/", // JetBrains
+		"org/objectweb/asm/", // ASM
+		"net/luis/agent/" // Agent
+	);
+	private final List<BaseClassTransformer> transformers;
+	private final Map<BaseClassTransformer, Set<Type>> interests = new IdentityHashMap<>();
+	private final Map<BaseClassTransformer, ConstantPoolFilter> localFilters = new IdentityHashMap<>();
+	private final ConstantPoolFilter filter;
+	private final boolean passthrough = AgentOptions.getBoolean("transform.passthrough", true);
+	private final TransformedClassCache cache;
+	private final List</*Annotation*/Type> annotations;
+	private final Set</*Class Name*/String> transformed = ConcurrentHashMap.newKeySet();
+	
+	public ClassTransformerPipeline(BaseClassTransformer @NotNull ... transformers) {
+		this(AgentOptions.get("transform.cache"), transformers);
+	}
+	
+	public ClassTransformerPipeline(@Nullable String cacheFile, BaseClassTransformer @NotNull ... transformers) {
+		this.transformers = List.of(transformers);
+		for (BaseClassTransformer transformer : this.transformers) {
+			Set<Type> interests = Set.copyOf(transformer.getInterests());
+			this.interests.put(transformer, interests);
+			if (transformer.isInterestedInLocals()) {
+				this.localFilters.put(transformer, new ConstantPoolFilter(interests.stream().map(Type::getDescriptor).toList()));
+			}
+		}
+		this.filter = new ConstantPoolFilter(Stream.concat(Stream.of(ConstantPoolFilter.AGENT_ANNOTATIONS), this.interests.values().stream().flatMap(Set::stream).map(Type::getDescriptor)).distinct().toList());
+		if (cacheFile == null || cacheFile.isBlank()) {
+			this.cache = null;
+			this.annotations = List.of();
+		} else {
+			List<String> configuration = Stream.concat(this.transformers.stream().map(transformer -> transformer.getClass().getName()), Stream.of("passthrough=" + this.passthrough)).toList();
+			this.cache = TransformedClassCache.open(new File(cacheFile), configuration);
+			// Discovered annotations can be used by any class, their pattern is part of the transformed class
+			this.annotations = Agent.getDiscovered().stream().filter(type -> Agent.getClass(type).is(ClassType.ANNOTATION)).toList();
+		}
+	}
+	
+	//region Static helper methods
+	private static boolean isInternalClass(@NotNull Type type) {
+		for (String ignored : IGNORED_CLASSES) {
+			if (type.getInternalName().startsWith(ignored)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static void report(@NotNull Throwable throwable, @NotNull ClassLoader loader, @NotNull Type type, @NotNull Object transformer) {
+		CrashReport report;
+		if (throwable instanceof ReportedException ex) {
+			report = ex.getReport();
+		} else {
+			report = CrashReport.create("Error occurred while transforming class '" + type + "'", throwable);
+		}
+		report.addDetailFirst("Transformed Class", type);
+		report.addDetailFirst("Class Transformer", transformer);
+		report.addDetailFirst("Class Loader", loader.getName());
+		report.print();
+		if (!report.canContinue()) {
+			System.exit(report.getExitCode());
+		}
+	}
+	//endregion
+	
+	@Override
+	public byte @Nullable [] transform(@NotNull ClassLoader loader, @NotNull String className, @Nullable Class<?> clazz, @NotNull ProtectionDomain domain, byte @NotNull [] buffer) {
+		Type type = Type.getObjectType(className);
+		if (isInternalClass(type)) {
+			return null;
+		}
+		long start = System.nanoTime();
+		byte[] bytes = this.transform(type, loader, buffer);
+		AgentMetrics.recordClass(type.getClassName(), System.nanoTime() - start, buffer.length, bytes);
+		return bytes;
+	}
+	
+	public boolean isInterested(@Nullable ClassLoader loader, @NotNull Type type, byte @NotNull [] buffer) {
+		if (isInternalClass(type)) {
+			return false;
+		}
+		AnnotationIndex index = this.index(loader, type, buffer);
+		for (BaseClassTransformer transformer : this.transformers) {
+			if (this.isInterested(index, transformer, type, buffer)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	public boolean isTransformed(@NotNull Type type) {
+		return this.transformed.contains(type.getInternalName());
+	}
+	
+	public boolean isIndependent(@Nullable ClassLoader loader, @NotNull Type type, byte @NotNull [] buffer) {
+		if (isInternalClass(type)) {
+			return true;
+		}
+		AnnotationIndex index = this.index(loader, type, buffer);
+		for (BaseClassTransformer transformer : this.transformers) {
+			if (!transformer.isCacheable() && this.isInterested(index, transformer, type, buffer)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private byte @Nullable [] transform(@NotNull Type type, @NotNull ClassLoader loader, byte @NotNull [] buffer) {
+		AnnotationIndex index = this.index(loader, type, buffer);
+		ByteBuffer key = this.cache != null && this.isCacheable(index, type, buffer) ? this.createKey(loader, type, buffer) : null;
+		if (key != null) {
+			ByteBuffer cached = this.cache.get(key);
+			if (cached != null) {
+				return this.complete(type, cached);
+			}
+		}
+		TransformationContext context = new TransformationContext(loader, type, buffer);
+		return context.run(() -> this.transform(context, loader, buffer, index, key));
+	}
+	
+	private byte @Nullable [] transform(@NotNull TransformationContext context, @NotNull ClassLoader loader, byte @NotNull [] buffer, @NotNull AnnotationIndex index, @Nullable ByteBuffer key) {
+		Type type = context.getType();
+		ClassReader reader = null;
+		ClassNode node = null;
+		List<String> applied = new ArrayList<>();
+		Set</*Method Signature*/String> rewritten = new HashSet<>();
+		boolean computeFrames = false;
+		boolean failed = false;
+		AnnotationIndex current = index;
+		for (BaseClassTransformer transformer : this.transformers) {
+			if (!this.isInterested(current, transformer, type, buffer)) {
+				continue;
+			}
+			if (node == null) {
+				reader = new ClassReader(buffer);
+				node = new ClassNode();
+				reader.accept(node, ClassReader.EXPAND_FRAMES);
+			}
+			TransformerEvent event = new TransformerEvent();
+			event.begin();
+			long start = System.nanoTime();
+			ClassNode transformed = this.transform(context, loader, transformer, node, rewritten);
+			boolean modified = false;
+			if (transformed != null) {
+				node = transformed;
+				computeFrames |= transformer.isComputeFrames();
+				if (context.resetModified()) {
+					modified = true;
+					applied.add(transformer.getClass().getSimpleName());
+					// Members added by earlier transformers are only part of the transformation overlay, they are indexed for the later transformers of this transformation only
+					current = new AnnotationIndex();
+					current.add(Agent.getClass(loader, type, buffer));
+				}
+			} else {
+				failed = true;
+			}
+			AgentMetrics.recordTransformer(transformer.getClass().getSimpleName(), System.nanoTime() - start, modified, transformed == null);
+			if (event.shouldCommit()) {
+				event.className = type.getClassName();
+				event.transformer = transformer.getClass().getSimpleName();
+				event.size = buffer.length;
+				event.modified = modified;
+				event.failed = transformed == null;
+				event.commit();
+			}
+		}
+		if (node == null || (this.passthrough && applied.isEmpty())) {
+			if (key != null && !failed) {
+				this.cache.put(key, new byte[0]);
+			}
+			return null;
+		}
+		int flags = computeFrames ? ClassWriter.COMPUTE_FRAMES : ClassWriter.COMPUTE_MAXS;
+		try {
+			byte[] bytes;
+			if (this.passthrough) {
+				bytes = PassthroughClassWriter.write(reader, node, rewritten, flags);
+			} else {
+				ClassWriter writer = new MetadataClassWriter(reader, flags);
+				node.accept(writer);
+				bytes = writer.toByteArray();
+			}
+			if (key != null && !failed) {
+				this.cache.put(key, applied.isEmpty() ? new byte[0] : bytes);
+			}
+			if (!applied.isEmpty()) {
+				System.out.println("Transformed Class: " + type.getClassName());
+				this.transformed.add(type.getInternalName());
+				ClassDumper.dump("transformed", type, bytes);
+			}
+			return bytes;
+		} catch (Throwable throwable) {
+			report(throwable, loader, type, applied);
+		}
+		return null;
+	}
+	
+	private @NotNull AnnotationIndex index(@Nullable ClassLoader loader, @NotNull Type type, byte @NotNull [] buffer) {
+		AnnotationIndex index = Agent.getAnnotationIndex(loader);
+		if (!index.isIndexed(type)) {
+			if (this.filter.matches(buffer)) {
+				index.add(Agent.getClass(loader, type, buffer));
+			} else {
+				index.cover(List.of(type), true);
+			}
+		}
+		return index;
+	}
+	
+	private byte @Nullable [] complete(@NotNull Type type, @NotNull ByteBuffer cached) {
+		if (!cached.hasRemaining()) {
+			return null;
+		}
+		byte[] bytes = new byte[cached.remaining()];
+		cached.get(bytes);
+		System.out.println("Transformed Class: " + type.getClassName());
+		this.transformed.add(type.getInternalName());
+		ClassDumper.dump("transformed", type, bytes);
+		return bytes;
+	}
+	
+	private boolean isCacheable(@NotNull AnnotationIndex index, @NotNull Type type, byte @NotNull [] buffer) {
+		boolean interested = false;
+		for (BaseClassTransformer transformer : this.transformers) {
+			if (this.isInterested(index, transformer, type, buffer)) {
+				if (!transformer.isCacheable()) {
+					return false;
+				}
+				interested = true;
+			}
+		}
+		return interested;
+	}
+	
+	private @Nullable ByteBuffer createKey(@NotNull ClassLoader loader, @NotNull Type type, byte @NotNull [] buffer) {
+		List<Type> hierarchy = new ArrayList<>();
+		Deque<Type> queue = new ArrayDeque<>(List.of(type));
+		try {
+			while (!queue.isEmpty()) {
+				Type current = queue.poll();
+				// Hierarchies of internal classes are part of the runtime or the agent, both are covered by the fingerprint of the cache
+				if (hierarchy.contains(current) || isInternalClass(current)) {
+					continue;
+				}
+				hierarchy.add(current);
+				net.luis.agent.asm.data.Class clazz = current.equals(type) ? Agent.getClass(loader, type, buffer) : Agent.getClass(loader, current);
+				queue.add(clazz.getSuperType());
+				queue.addAll(clazz.getInterfaces());
+			}
+		} catch (RuntimeException e) {
+			return null;
+		}
+		List<Type> injected = InterfaceTransformer.getInjectionTargets().getOrDefault(type.getInternalName(), List.of()).stream().map(Type::getObjectType).toList();
+		return this.cache.createKey(buffer, hierarchy, Stream.concat(injected.stream(), this.annotations.stream()).toList());
+	}
+	
+	private boolean isInterested(@NotNull AnnotationIndex index, @NotNull BaseClassTransformer transformer, @NotNull Type type, byte @NotNull [] buffer) {
+		Set<Type> interests = this.interests.get(transformer);
+		if (interests.isEmpty()) {
+			return !transformer.shouldIgnoreClass(type);
+		}
+		if (index.isAnnotatedWithAny(type, interests)) {
+			return true;
+		}
+		ConstantPoolFilter filter = this.localFilters.get(transformer);
+		return filter != null && index.hasUnresolvedLocals(type) && filter.matches(buffer);
+	}
+	
+	private @Nullable ClassNode transform(@NotNull TransformationContext context, @NotNull ClassLoader loader, @NotNull BaseClassTransformer transformer, @NotNull ClassNode node, @NotNull Set<String> rewritten) {
+		ClassNode transformed = new ClassNode();
+		Set<String> touched = new HashSet<>();
+		try {
+			node.accept(new MethodTrackingClassVisitor(transformer.visit(context, context.getType(), transformed), transformed, touched));
+			rewritten.addAll(touched);
+			return transformed;
+		} catch (Throwable throwable) {
+			context.resetModified();
+			report(throwable, loader, context.getType(), transformer.getClass().getSimpleName());
+		}
+		return null;
+	}
+	
+	private static class MethodTrackingClassVisitor extends ClassVisitor {
+		
+		private final ClassNode node;
+		private final Set<String> touched;
+		
+		private MethodTrackingClassVisitor(@NotNull ClassVisitor visitor, @NotNull ClassNode node, @NotNull Set<String> touched) {
+			super(Opcodes.ASM9, visitor);
+			this.node = node;
+			this.touched = touched;
+		}
+		
+		@Override
+		public @Nullable MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, String @Nullable [] exceptions) {
+			int count = this.node.methods.size();
+			MethodVisitor visitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+			// A method is untouched if the transformer passed the node's own method visitor through without changing its header
+			if (this.node.methods.size() != count + 1 || visitor != this.node.methods.get(count) || !isSameHeader(this.node.methods.get(count), access, name, descriptor, signature, exceptions)) {
+				this.touched.add(name + descriptor);
+			}
+			return visitor;
+		}
+		
+		private static boolean isSameHeader(@NotNull MethodNode method, int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, String @Nullable [] exceptions) {
+			return method.access == access && method.name.equals(name) && method.desc.equals(descriptor) && Objects.equals(method.signature, signature) && method.exceptions.equals(exceptions == null ? List.of() : List.of(exceptions));
+		}
+	}
+}
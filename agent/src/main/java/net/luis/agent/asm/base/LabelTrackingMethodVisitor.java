@@ -68,7 +68,7 @@ public class LabelTrackingMethodVisitor extends MethodVisitor {
 		if (this.method != null) {
 			this.method.updateLocalScopes(this.getInserts());
 			for (Local local : this.locals) {
-				this.method.getLocals().add(LocalVariable.builder(this.method, local.index, local.name, local.type).genericSignature(local.signature).bounds(local.start, local.end).build());
+				this.method.addLocal(LocalVariable.builder(this.method, local.index, local.name, local.type).genericSignature(local.signature).bounds(local.start, local.end).build());
 			}
 		}
 	}
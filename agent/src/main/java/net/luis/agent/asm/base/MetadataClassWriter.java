@@ -0,0 +1,136 @@
+package net.luis.agent.asm.base;
+
+import net.luis.agent.Agent;
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.type.ClassType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class MetadataClassWriter extends ClassWriter {
+	
+	private static final String OBJECT = "java/lang/Object";
+	private static final FileSystem JRT = FileSystems.getFileSystem(URI.create("jrt:/"));
+	private static final Map</*Package*/String, Optional</*Module*/String>> MODULES = new ConcurrentHashMap<>();
+	private static final Map<Type, Hierarchy> JDK_HIERARCHIES = new ConcurrentHashMap<>();
+	
+	public MetadataClassWriter(int flags) {
+		super(flags);
+	}
+	
+	public MetadataClassWriter(@Nullable ClassReader reader, int flags) {
+		super(reader, flags);
+	}
+	
+	//region Static helper methods
+	private static @NotNull Type computeCommonSuperClass(@NotNull Type first, @NotNull Type second) {
+		if (isAssignableFrom(first, second)) {
+			return first;
+		}
+		if (isAssignableFrom(second, first)) {
+			return second;
+		}
+		if (getHierarchy(first).isInterface() || getHierarchy(second).isInterface()) {
+			return Type.getObjectType(OBJECT);
+		}
+		Type current = first;
+		do {
+			current = getHierarchy(current).superType();
+			if (current == null) {
+				return Type.getObjectType(OBJECT);
+			}
+		} while (!isAssignableFrom(current, second));
+		return current;
+	}
+	
+	private static boolean isAssignableFrom(@NotNull Type target, @NotNull Type type) {
+		Deque<Type> queue = new ArrayDeque<>(List.of(type));
+		Set<Type> visited = new HashSet<>();
+		while (!queue.isEmpty()) {
+			Type current = queue.poll();
+			if (current.equals(target)) {
+				return true;
+			}
+			if (!visited.add(current) || OBJECT.equals(current.getInternalName())) {
+				continue;
+			}
+			Hierarchy hierarchy = getHierarchy(current);
+			if (hierarchy.superType() != null) {
+				queue.add(hierarchy.superType());
+			}
+			queue.addAll(hierarchy.interfaces());
+		}
+		return false;
+	}
+	
+	private static @NotNull Hierarchy getHierarchy(@NotNull Type type) {
+		String module = getModule(type);
+		if (module == null) {
+			Class clazz = Agent.getClass(type);
+			return new Hierarchy(clazz.getSuperType(), clazz.getInterfaces(), clazz.is(ClassType.INTERFACE) || clazz.is(ClassType.ANNOTATION));
+		}
+		return JDK_HIERARCHIES.computeIfAbsent(type, t -> readHierarchy(module, t));
+	}
+	
+	private static @Nullable String getModule(@NotNull Type type) {
+		String name = type.getInternalName();
+		int index = name.lastIndexOf('/');
+		if (index == -1) {
+			return null;
+		}
+		return MODULES.computeIfAbsent(name.substring(0, index).replace('/', '.'), pkg -> {
+			Path path = JRT.getPath("packages", pkg);
+			if (!Files.isDirectory(path)) {
+				return Optional.empty();
+			}
+			try (Stream<Path> modules = Files.list(path)) {
+				return modules.findFirst().map(module -> module.getFileName().toString());
+			} catch (IOException e) {
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+	
+	private static @NotNull Hierarchy readHierarchy(@NotNull String module, @NotNull Type type) {
+		try {
+			ClassReader reader = new ClassReader(Files.readAllBytes(JRT.getPath("modules", module, type.getInternalName() + ".class")));
+			Type superType = reader.getSuperName() == null ? null : Type.getObjectType(reader.getSuperName());
+			return new Hierarchy(superType, Arrays.stream(reader.getInterfaces()).map(Type::getObjectType).toList(), (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0);
+		} catch (IOException e) {
+			throw new TypeNotPresentException(type.getClassName(), e);
+		}
+	}
+	//endregion
+	
+	@Override
+	protected @NotNull String getCommonSuperClass(@NotNull String first, @NotNull String second) {
+		if (OBJECT.equals(first) || OBJECT.equals(second)) {
+			return OBJECT;
+		}
+		TransformationContext context = TransformationContext.getCurrent();
+		// Class loaders may define classes with the same name but a different hierarchy, common super classes are therefore cached per loader
+		Map<String, String> commonSuperClasses = Agent.getCommonSuperClasses(context == null ? null : context.getLoader());
+		String key = first + ";" + second;
+		String commonSuperClass = commonSuperClasses.get(key);
+		if (commonSuperClass == null) {
+			commonSuperClass = computeCommonSuperClass(Type.getObjectType(first), Type.getObjectType(second)).getInternalName();
+			commonSuperClasses.put(key, commonSuperClass);
+		}
+		return commonSuperClass;
+	}
+	
+	private record Hierarchy(@Nullable Type superType, @NotNull List<Type> interfaces, boolean isInterface) {}
+}
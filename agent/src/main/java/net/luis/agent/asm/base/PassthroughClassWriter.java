@@ -0,0 +1,71 @@
+package net.luis.agent.asm.base;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.*;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class PassthroughClassWriter {
+	
+	public static byte @NotNull [] write(@NotNull ClassReader reader, @NotNull ClassNode node, @NotNull Set</*Method Signature*/String> rewritten, int flags) {
+		ClassWriter writer = new MetadataClassWriter(reader, flags);
+		node.accept(new ClassVisitor(Opcodes.ASM9, writer) {
+			
+			@Override
+			public @Nullable MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, String @Nullable [] exceptions) {
+				return null;
+			}
+			
+			@Override
+			public void visitEnd() {}
+		});
+		Map<String, MethodNode> methods = new LinkedHashMap<>();
+		node.methods.forEach(method -> methods.put(method.name + method.desc, method));
+		reader.accept(new MethodPassthroughVisitor(writer, methods, rewritten), 0);
+		return writer.toByteArray();
+	}
+	
+	private static class MethodPassthroughVisitor extends ClassVisitor {
+		
+		private final ClassWriter writer;
+		private final Map<String, MethodNode> methods;
+		private final Set<String> rewritten;
+		
+		private MethodPassthroughVisitor(@NotNull ClassWriter writer, @NotNull Map<String, MethodNode> methods, @NotNull Set<String> rewritten) {
+			super(Opcodes.ASM9);
+			this.writer = writer;
+			this.methods = methods;
+			this.rewritten = rewritten;
+		}
+		
+		@Override
+		public @Nullable MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, String @Nullable [] exceptions) {
+			String key = name + descriptor;
+			MethodNode method = this.methods.remove(key);
+			if (method == null) {
+				return null;
+			}
+			if (this.rewritten.contains(key)) {
+				method.accept(this.writer);
+				return null;
+			}
+			// The reader copies the original method bytes as they are, if the visitor returned here is the writer's own
+			return this.writer.visitMethod(access, name, descriptor, signature, exceptions);
+		}
+		
+		@Override
+		public void visitEnd() {
+			this.methods.values().forEach(method -> method.accept(this.writer));
+			this.writer.visitEnd();
+		}
+	}
+}
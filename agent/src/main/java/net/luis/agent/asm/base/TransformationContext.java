@@ -0,0 +1,117 @@
+package net.luis.agent.asm.base;
+
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.data.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class TransformationContext {
+	
+	private static final ThreadLocal<TransformationContext> CURRENT = new ThreadLocal<>();
+	private final Map<Method, List<LocalVariable>> locals = new IdentityHashMap<>();
+	private final Map<Class, Map<String, Field>> fields = new IdentityHashMap<>();
+	private final Map<Class, Map<String, Method>> methods = new IdentityHashMap<>();
+	private final ClassLoader loader;
+	private final Type type;
+	private final byte[] buffer;
+	private boolean modified;
+	
+	public TransformationContext(@Nullable ClassLoader loader, @NotNull Type type, byte @NotNull [] buffer) {
+		this.loader = loader;
+		this.type = type;
+		this.buffer = buffer;
+	}
+	
+	//region Static helper methods
+	public static @Nullable TransformationContext getCurrent() {
+		return CURRENT.get();
+	}
+	
+	public static @NotNull List<LocalVariable> getLocals(@NotNull Method method, @NotNull List<LocalVariable> locals) {
+		TransformationContext context = CURRENT.get();
+		return context == null ? locals : context.locals.getOrDefault(method, locals);
+	}
+	
+	public static @NotNull List<LocalVariable> getWritableLocals(@NotNull Method method, @NotNull List<LocalVariable> locals) {
+		TransformationContext context = CURRENT.get();
+		if (context == null) {
+			return locals;
+		}
+		// Scope updates of the transformed bytecode are only visible to the current transformation, the shared metadata keeps the scopes of the original class
+		return context.locals.computeIfAbsent(method, m -> new ArrayList<>(locals.stream().map(local -> LocalVariable.builder(local).build()).toList()));
+	}
+	
+	public static @NotNull Map<String, Field> getFields(@NotNull Class owner, @NotNull Map<String, Field> fields) {
+		TransformationContext context = CURRENT.get();
+		return context == null ? fields : context.fields.getOrDefault(owner, fields);
+	}
+	
+	public static @NotNull Map<String, Field> getWritableFields(@NotNull Class owner, @NotNull Map<String, Field> fields) {
+		TransformationContext context = CURRENT.get();
+		if (context == null) {
+			return fields;
+		}
+		// Members generated by a transformer are only visible to the current transformation, transforming the class again starts from the members of the original class
+		return context.fields.computeIfAbsent(owner, o -> new HashMap<>(fields));
+	}
+	
+	public static @NotNull Map<String, Method> getMethods(@NotNull Class owner, @NotNull Map<String, Method> methods) {
+		TransformationContext context = CURRENT.get();
+		return context == null ? methods : context.methods.getOrDefault(owner, methods);
+	}
+	
+	public static @NotNull Map<String, Method> getWritableMethods(@NotNull Class owner, @NotNull Map<String, Method> methods) {
+		TransformationContext context = CURRENT.get();
+		if (context == null) {
+			return methods;
+		}
+		return context.methods.computeIfAbsent(owner, o -> new HashMap<>(methods));
+	}
+	//endregion
+	
+	public @Nullable ClassLoader getLoader() {
+		return this.loader;
+	}
+	
+	public @NotNull Type getType() {
+		return this.type;
+	}
+	
+	public byte @NotNull [] getBuffer() {
+		return this.buffer;
+	}
+	
+	public void markModified() {
+		this.modified = true;
+	}
+	
+	boolean resetModified() {
+		boolean modified = this.modified;
+		this.modified = false;
+		return modified;
+	}
+	
+	<T> T run(@NotNull Supplier<T> action) {
+		TransformationContext previous = CURRENT.get();
+		CURRENT.set(this);
+		try {
+			return action.get();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+}
@@ -8,6 +8,7 @@ import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -123,7 +124,7 @@ public class Annotation {
 	//region Builder
 	public static class Builder {
 		
-		private final Map<String, Object> values = new HashMap<>();
+		private final Map<String, Object> values = new ConcurrentHashMap<>();
 		private Type type;
 		private boolean visible;
 		
@@ -1,12 +1,16 @@
 package net.luis.agent.asm.data;
 
 import net.luis.agent.asm.Types;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.type.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 /**
  *
@@ -30,6 +34,8 @@ public class Class implements ASMData {
 	private final Map<String, Field> fields;
 	private final Map<String, Method> methods;
 	private final List<InnerClass> innerClasses;
+	private volatile ScanLevel level = ScanLevel.CODE;
+	private Function<ScanLevel, Class> loader;
 	
 	private Class(@NotNull String name, @NotNull Type type, @Nullable String genericSignature, @NotNull TypeAccess access, @NotNull ClassType classType, @NotNull Set<TypeModifier> modifiers,
 				  @NotNull Type superType, @NotNull List<Type> permittedSubclasses, @NotNull List<Type> interfaces, @NotNull Map<Type, Annotation> annotations,
@@ -120,41 +126,58 @@ public class Class implements ASMData {
 	}
 	
 	public @NotNull Map<String, RecordComponent> getRecordComponents() {
+		this.upgrade(ScanLevel.MEMBERS);
 		return this.recordComponents;
 	}
 	
 	public @NotNull Map<String, Field> getFields() {
-		return this.fields;
+		this.upgrade(ScanLevel.MEMBERS);
+		return TransformationContext.getFields(this, this.fields);
 	}
 	
 	public @NotNull Map<String, Method> getMethods() {
-		return this.methods;
+		this.upgrade(ScanLevel.MEMBERS);
+		return TransformationContext.getMethods(this, this.methods);
 	}
 	
 	public @NotNull List<InnerClass> getInnerClasses() {
 		return this.innerClasses;
 	}
+	
+	public @NotNull ScanLevel getLevel() {
+		return this.level;
+	}
 	//endregion
 	
 	//region Functional getters
 	public @Nullable RecordComponent getRecordComponent(@Nullable String name) {
-		return this.recordComponents.get(name);
+		return this.getRecordComponents().get(name);
 	}
 	
 	public @Nullable Field getField(@Nullable String name) {
-		return this.fields.get(name);
+		return this.getFields().get(name);
 	}
 	
 	public @Nullable Method getMethod(@Nullable String fullSignature) {
-		return this.methods.get(fullSignature);
+		return this.getMethods().get(fullSignature);
 	}
 	
 	public @NotNull List<Method> getMethods(@Nullable String name) {
-		return this.methods.values().stream().filter(method -> method.getName().equals(name)).toList();
+		return this.getMethods().values().stream().filter(method -> method.getName().equals(name)).toList();
 	}
 	
 	public @NotNull List<Parameter> getParameters() {
-		return this.methods.values().stream().flatMap(method -> method.getParameters().values().stream()).toList();
+		return this.getMethods().values().stream().flatMap(method -> method.getParameters().values().stream()).toList();
+	}
+	
+	public void addField(@NotNull Field field) {
+		this.upgrade(ScanLevel.MEMBERS);
+		TransformationContext.getWritableFields(this, this.fields).put(field.getName(), field);
+	}
+	
+	public void addMethod(@NotNull Method method) {
+		this.upgrade(ScanLevel.MEMBERS);
+		TransformationContext.getWritableMethods(this, this.methods).put(method.getSignature(SignatureType.FULL), method);
 	}
 	
 	public boolean is(@NotNull ClassType type) {
@@ -162,6 +185,43 @@ public class Class implements ASMData {
 	}
 	//endregion
 	
+	//region Scan level
+	public @NotNull Class withLevel(@NotNull ScanLevel level, @NotNull Function<ScanLevel, Class> loader) {
+		this.level = level;
+		this.loader = level == ScanLevel.CODE ? null : loader;
+		if (level == ScanLevel.MEMBERS) {
+			this.methods.values().forEach(method -> method.onCodeRequested(() -> this.upgrade(ScanLevel.CODE)));
+		}
+		return this;
+	}
+	
+	public void upgrade(@NotNull ScanLevel level) {
+		if (this.level.includes(level)) {
+			return;
+		}
+		synchronized (this) {
+			if (this.level.includes(level) || this.loader == null) {
+				return;
+			}
+			Class scanned = this.loader.apply(level);
+			if (this.level == ScanLevel.HEADER) {
+				this.recordComponents.putAll(scanned.recordComponents);
+				this.fields.putAll(scanned.fields);
+				scanned.methods.forEach(this.methods::putIfAbsent);
+			} else {
+				scanned.methods.forEach((signature, method) -> {
+					Method existing = this.methods.get(signature);
+					if (existing != null) {
+						existing.mergeCode(method);
+					}
+				});
+				this.methods.values().forEach(method -> method.onCodeRequested(null));
+			}
+			this.withLevel(level, this.loader);
+		}
+	}
+	//endregion
+	
 	//region Object overrides
 	@Override
 	public boolean equals(Object o) {
@@ -201,11 +261,11 @@ public class Class implements ASMData {
 		
 		private final Set<TypeModifier> modifiers = EnumSet.noneOf(TypeModifier.class);
 		private final List<Type> permittedSubclasses = new ArrayList<>();
-		private final List<Type> interfaces = new ArrayList<>();
-		private final Map<Type, Annotation> annotations = new HashMap<>();
-		private final Map<String, RecordComponent> recordComponents = new HashMap<>();
-		private final Map<String, Field> fields = new HashMap<>();
-		private final Map<String, Method> methods = new HashMap<>();
+		private final List<Type> interfaces = new CopyOnWriteArrayList<>();
+		private final Map<Type, Annotation> annotations = new ConcurrentHashMap<>();
+		private final Map<String, RecordComponent> recordComponents = new ConcurrentHashMap<>();
+		private final Map<String, Field> fields = new ConcurrentHashMap<>();
+		private final Map<String, Method> methods = new ConcurrentHashMap<>();
 		private final List<InnerClass> innerClasses = new ArrayList<>();
 		private String name;
 		private Type type;
@@ -229,6 +289,7 @@ public class Class implements ASMData {
 		}
 		
 		public Builder(@NotNull Class clazz) {
+			clazz.upgrade(ScanLevel.MEMBERS);
 			this.name = clazz.name;
 			this.type = clazz.type;
 			this.genericSignature = clazz.genericSignature;
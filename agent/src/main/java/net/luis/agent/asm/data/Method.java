@@ -2,6 +2,7 @@ package net.luis.agent.asm.data;
 
 import net.luis.agent.annotation.RestrictedAccess;
 import net.luis.agent.asm.Types;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.type.*;
 import net.luis.agent.util.Mutable;
 import org.jetbrains.annotations.NotNull;
@@ -9,6 +10,8 @@ import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +34,7 @@ public class Method implements ASMData {
 	private final List<LocalVariable> locals;
 	private final Mutable<Object> annotationDefault;
 	private MethodType methodType;
+	private volatile Runnable codeLoader;
 	
 	private Method(@NotNull Type owner, @NotNull String name, @NotNull Type type, @Nullable String genericSignature, @NotNull TypeAccess access, @NotNull Set<TypeModifier> modifiers,
 				   @NotNull Map<Type, Annotation> annotations, @NotNull Map<Integer, Parameter> parameters, @NotNull List<Type> exceptions, @NotNull List<LocalVariable> locals, @NotNull Mutable<Object> annotationDefault) {
@@ -101,6 +105,7 @@ public class Method implements ASMData {
 	}
 	
 	public @NotNull MethodType getMethodType() {
+		this.loadCode();
 		return this.methodType;
 	}
 	
@@ -123,7 +128,8 @@ public class Method implements ASMData {
 	}
 	
 	public @NotNull List<LocalVariable> getLocals() {
-		return this.locals;
+		this.loadCode();
+		return TransformationContext.getLocals(this, this.locals);
 	}
 	
 	public @NotNull Mutable<Object> getAnnotationDefault() {
@@ -137,15 +143,15 @@ public class Method implements ASMData {
 	}
 	
 	public @NotNull List<LocalVariable> getLocals(int localIndex) {
-		return this.locals.stream().filter(local -> local.getIndex() == localIndex).collect(Collectors.toList());
+		return this.getLocals().stream().filter(local -> local.getIndex() == localIndex).collect(Collectors.toList());
 	}
 	
 	public @Nullable LocalVariable getLocal(int localIndex, int labelIndex) {
-		return this.locals.stream().filter(local -> local.getIndex() == localIndex && local.isInScope(labelIndex)).findFirst().orElse(null);
+		return this.getLocals().stream().filter(local -> local.getIndex() == localIndex && local.isInScope(labelIndex)).findFirst().orElse(null);
 	}
 	
 	public @Nullable LocalVariable getLocal(int localIndex, int start, int end) {
-		return this.locals.stream().filter(local -> local.getIndex() == localIndex && local.isScope(start, end)).findFirst().orElse(null);
+		return this.getLocals().stream().filter(local -> local.getIndex() == localIndex && local.isScope(start, end)).findFirst().orElse(null);
 	}
 	
 	public @NotNull Type getReturnType() {
@@ -161,10 +167,13 @@ public class Method implements ASMData {
 	}
 	
 	public int getLocalCount() {
-		return this.locals.size();
+		return this.getLocals().size();
 	}
 	
 	public boolean is(@NotNull MethodType type) {
+		if (type == MethodType.PRIMARY_CONSTRUCTOR) {
+			this.loadCode();
+		}
 		if (type == MethodType.CONSTRUCTOR && this.methodType == MethodType.PRIMARY_CONSTRUCTOR) {
 			return true;
 		}
@@ -201,7 +210,34 @@ public class Method implements ASMData {
 	}
 	
 	public void updateLocalScopes(@NotNull Set</*Insert After Index*/Integer> inserts) {
-		this.locals.forEach(local -> local.updateScope(inserts));
+		this.loadCode();
+		TransformationContext.getWritableLocals(this, this.locals).forEach(local -> local.updateScope(inserts));
+	}
+	
+	public void addLocal(@NotNull LocalVariable local) {
+		this.loadCode();
+		TransformationContext.getWritableLocals(this, this.locals).add(local);
+	}
+	//endregion
+	
+	//region Code level
+	void onCodeRequested(@Nullable Runnable codeLoader) {
+		this.codeLoader = codeLoader;
+	}
+	
+	void mergeCode(@NotNull Method scanned) {
+		scanned.locals.forEach(local -> this.locals.add(LocalVariable.builder(local).owner(this).build()));
+		if (scanned.methodType == MethodType.PRIMARY_CONSTRUCTOR) {
+			this.methodType = MethodType.PRIMARY_CONSTRUCTOR;
+		}
+		this.codeLoader = null;
+	}
+	
+	private void loadCode() {
+		Runnable codeLoader = this.codeLoader;
+		if (codeLoader != null) {
+			codeLoader.run();
+		}
 	}
 	//endregion
 	
@@ -241,10 +277,10 @@ public class Method implements ASMData {
 	public static class Builder {
 		
 		private final Set<TypeModifier> modifiers = EnumSet.noneOf(TypeModifier.class);
-		private final Map<Type, Annotation> annotations = new HashMap<>();
+		private final Map<Type, Annotation> annotations = new ConcurrentHashMap<>();
 		private final Map<Integer, Parameter> parameters = new HashMap<>();
 		private final List<Type> exceptions = new ArrayList<>();
-		private final List<LocalVariable> locals = new ArrayList<>();
+		private final List<LocalVariable> locals = new CopyOnWriteArrayList<>();
 		private final Mutable<Object> annotationDefault = new Mutable<>();
 		private Type owner;
 		private String name;
@@ -278,7 +314,7 @@ public class Method implements ASMData {
 			this.annotations.putAll(method.annotations);
 			this.parameters.putAll(method.parameters);
 			this.exceptions.addAll(method.exceptions);
-			this.locals.addAll(method.locals);
+			this.locals.addAll(method.getLocals());
 			this.annotationDefault.set(method.annotationDefault.get());
 		}
 		//endregion
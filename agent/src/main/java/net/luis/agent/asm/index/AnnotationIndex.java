@@ -0,0 +1,130 @@
+package net.luis.agent.asm.index;
+
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.data.*;
+import net.luis.agent.asm.index.ElementIndex.Element;
+import net.luis.agent.asm.index.ElementIndex.Kind;
+import net.luis.agent.asm.type.ScanLevel;
+import net.luis.agent.asm.type.SignatureType;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class AnnotationIndex {
+	
+	private final Map</*Annotation*/Type, Set<Element>> elements = new ConcurrentHashMap<>();
+	private final Map</*Owner*/Type, Set</*Annotation*/Type>> annotations = new ConcurrentHashMap<>();
+	private final Map</*Owner*/Type, List<Element>> owned = new ConcurrentHashMap<>();
+	private final Set</*Owner*/Type> unresolvedLocals = ConcurrentHashMap.newKeySet();
+	
+	//region Static helper methods
+	private static void collect(@NotNull List<Element> elements, @NotNull Kind kind, @NotNull Type owner, @NotNull String member, @NotNull ASMData data) {
+		for (Type annotation : data.getAnnotations().keySet()) {
+			elements.add(new Element(kind, owner, member, annotation));
+		}
+	}
+	//endregion
+	
+	public void add(@NotNull Class clazz) {
+		Type owner = clazz.getType();
+		boolean code = clazz.getLevel() == ScanLevel.CODE;
+		List<Element> elements = new ArrayList<>();
+		Set<Type> locals = new HashSet<>();
+		collect(elements, Kind.CLASS, owner, "-", clazz);
+		clazz.getRecordComponents().values().forEach(component -> collect(elements, Kind.RECORD_COMPONENT, owner, component.getName(), component));
+		clazz.getFields().values().forEach(field -> collect(elements, Kind.FIELD, owner, field.getName(), field));
+		for (Method method : clazz.getMethods().values()) {
+			String signature = method.getSignature(SignatureType.FULL);
+			collect(elements, Kind.METHOD, owner, signature, method);
+			method.getParameters().values().forEach(parameter -> collect(elements, Kind.PARAMETER, owner, signature + "#" + parameter.getIndex(), parameter));
+			if (code) {
+				method.getLocals().forEach(local -> locals.addAll(local.getAnnotations().keySet()));
+			}
+		}
+		this.put(owner, elements, locals, code);
+	}
+	
+	public void addAll(@NotNull List<Element> elements) {
+		elements.stream().collect(Collectors.groupingBy(Element::owner)).forEach((owner, owned) -> this.put(owner, owned, Set.of(), false));
+	}
+	
+	public void cover(@NotNull Collection<Type> types, boolean localsResolved) {
+		for (Type type : types) {
+			if (this.annotations.putIfAbsent(type, ConcurrentHashMap.newKeySet()) == null && !localsResolved) {
+				this.unresolvedLocals.add(type);
+			}
+		}
+	}
+	
+	public boolean isIndexed(@NotNull Type owner) {
+		return this.annotations.containsKey(owner);
+	}
+	
+	public boolean hasUnresolvedLocals(@NotNull Type owner) {
+		return this.unresolvedLocals.contains(owner);
+	}
+	
+	public @NotNull Set<Type> getAnnotations(@NotNull Type owner) {
+		return Collections.unmodifiableSet(this.annotations.getOrDefault(owner, Set.of()));
+	}
+	
+	public boolean isAnnotatedWithAny(@NotNull Type owner, @NotNull Collection<Type> annotations) {
+		Set<Type> present = this.annotations.get(owner);
+		if (present == null || present.isEmpty()) {
+			return false;
+		}
+		for (Type annotation : annotations) {
+			if (present.contains(annotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	public @NotNull Set<Element> getElements(@NotNull Type annotation) {
+		return Collections.unmodifiableSet(this.elements.getOrDefault(annotation, Set.of()));
+	}
+	
+	public @NotNull Set<Type> getOwners(@NotNull Type annotation) {
+		return this.getElements(annotation).stream().map(Element::owner).collect(Collectors.toSet());
+	}
+	
+	//region Helper methods
+	private void put(@NotNull Type owner, @NotNull List<Element> elements, @NotNull Set<Type> locals, boolean localsResolved) {
+		// Classes are indexed again after each transformation, updating only the owner's previous elements keeps this independent of the index size
+		this.owned.compute(owner, (type, previous) -> {
+			if (previous != null) {
+				for (Element element : previous) {
+					Set<Element> annotated = this.elements.get(element.annotation());
+					if (annotated != null) {
+						annotated.remove(element);
+					}
+				}
+			}
+			// Locals are not part of the element index, their annotations only mark the owner as annotated
+			Set<Type> annotations = ConcurrentHashMap.newKeySet();
+			annotations.addAll(locals);
+			for (Element element : elements) {
+				annotations.add(element.annotation());
+				this.elements.computeIfAbsent(element.annotation(), annotation -> ConcurrentHashMap.newKeySet()).add(element);
+			}
+			if (localsResolved) {
+				this.unresolvedLocals.remove(owner);
+			} else {
+				this.unresolvedLocals.add(owner);
+			}
+			this.annotations.put(owner, annotations);
+			return List.copyOf(elements);
+		});
+	}
+	//endregion
+}
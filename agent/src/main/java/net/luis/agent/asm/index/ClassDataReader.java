@@ -0,0 +1,205 @@
+package net.luis.agent.asm.index;
+
+import net.luis.agent.asm.data.*;
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.scanner.ClassFileScanner;
+import net.luis.agent.asm.type.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static net.luis.agent.asm.index.ClassDataWriter.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassDataReader {
+	
+	private static final TypeAccess[] ACCESSES = TypeAccess.values();
+	private static final ClassType[] CLASS_TYPES = ClassType.values();
+	private static final InnerClassType[] INNER_CLASS_TYPES = InnerClassType.values();
+	private static final TypeModifier[] MODIFIERS = TypeModifier.values();
+	private static final ScanLevel[] LEVELS = ScanLevel.values();
+	
+	private final ByteBuffer buffer;
+	private final String[] strings;
+	private final Map<String, Type> types = new HashMap<>();
+	
+	public ClassDataReader(@NotNull ByteBuffer buffer) {
+		this.buffer = buffer;
+		this.strings = new String[this.readVarInt()];
+		for (int i = 0; i < this.strings.length; i++) {
+			byte[] bytes = new byte[this.readVarInt()];
+			this.buffer.get(bytes);
+			this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+	
+	public @NotNull List<Class> readAll() {
+		int count = this.readVarInt();
+		List<Class> classes = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			classes.add(this.read());
+		}
+		return classes;
+	}
+	
+	private @NotNull Class read() {
+		Type type = Objects.requireNonNull(this.readType());
+		Class.Builder builder = Class.builder(Objects.requireNonNull(this.readString()), type).genericSignature(this.readString()).access(ACCESSES[this.readVarInt()]).classType(CLASS_TYPES[this.readVarInt()]).modifiers(this.readModifiers());
+		Type superType = this.readType();
+		if (superType != null) {
+			builder.superType(superType);
+		}
+		builder.permittedSubclasses(this.readTypes()).interfaces(this.readTypes()).annotations(this.readAnnotations());
+		ScanLevel level = LEVELS[this.readVarInt()];
+		int recordComponents = this.readVarInt();
+		for (int i = 0; i < recordComponents; i++) {
+			String name = Objects.requireNonNull(this.readString());
+			RecordComponent component = RecordComponent.builder(type, name, Objects.requireNonNull(this.readType())).genericSignature(this.readString()).annotations(this.readAnnotations()).build();
+			builder.addRecordComponent(name, component);
+		}
+		int fields = this.readVarInt();
+		for (int i = 0; i < fields; i++) {
+			String name = Objects.requireNonNull(this.readString());
+			Field field = Field.builder(type, name, Objects.requireNonNull(this.readType())).genericSignature(this.readString()).access(ACCESSES[this.readVarInt()]).modifiers(this.readModifiers())
+				.initialValue(this.readValue()).annotations(this.readAnnotations()).build();
+			builder.addField(name, field);
+		}
+		int methods = this.readVarInt();
+		for (int i = 0; i < methods; i++) {
+			Method method = this.readMethod(type);
+			builder.addMethod(method.getSignature(SignatureType.FULL), method);
+		}
+		int innerClasses = this.readVarInt();
+		for (int i = 0; i < innerClasses; i++) {
+			builder.addInnerClass(InnerClass.builder(type, this.readString(), Objects.requireNonNull(this.readType())).access(ACCESSES[this.readVarInt()]).classType(INNER_CLASS_TYPES[this.readVarInt()]).modifiers(this.readModifiers()).build());
+		}
+		Class clazz = builder.build();
+		return level == ScanLevel.CODE ? clazz : clazz.withLevel(level, l -> ClassFileScanner.scanClass(type, l));
+	}
+	
+	//region Helper methods
+	private @NotNull Method readMethod(@NotNull Type owner) {
+		String name = Objects.requireNonNull(this.readString());
+		Method method = Method.builder(owner, name, Objects.requireNonNull(this.readType())).genericSignature(this.readString()).access(ACCESSES[this.readVarInt()]).modifiers(this.readModifiers()).build();
+		if (this.readBoolean()) {
+			method.makeConstructorPrimary();
+		}
+		method.getAnnotations().putAll(this.readAnnotations());
+		method.getExceptions().addAll(this.readTypes());
+		int parameters = this.readVarInt();
+		for (int i = 0; i < parameters; i++) {
+			int index = this.readVarInt();
+			Parameter parameter = Parameter.builder(method, Objects.requireNonNull(this.readString()), Objects.requireNonNull(this.readType()), index).modifiers(this.readModifiers()).annotations(this.readAnnotations()).build();
+			method.getParameters().put(index, parameter);
+		}
+		int locals = this.readVarInt();
+		for (int i = 0; i < locals; i++) {
+			LocalVariable.Builder builder = LocalVariable.builder(method, this.readVarInt(), Objects.requireNonNull(this.readString()), Objects.requireNonNull(this.readType())).genericSignature(this.readString());
+			method.getLocals().add(builder.bounds(this.readVarInt(), this.readVarInt()).annotations(this.readAnnotations()).build());
+		}
+		method.getAnnotationDefault().set(this.readValue());
+		return method;
+	}
+	
+	private @NotNull Map<Type, Annotation> readAnnotations() {
+		int count = this.readVarInt();
+		Map<Type, Annotation> annotations = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			Annotation annotation = this.readAnnotation();
+			annotations.put(annotation.getType(), annotation);
+		}
+		return annotations;
+	}
+	
+	private @NotNull Annotation readAnnotation() {
+		Annotation annotation = Annotation.builder(Objects.requireNonNull(this.readType())).visible(this.readBoolean()).build();
+		int count = this.readVarInt();
+		for (int i = 0; i < count; i++) {
+			annotation.getValues().put(this.readString(), this.readValue());
+		}
+		return annotation;
+	}
+	
+	private @Nullable Object readValue() {
+		int tag = this.buffer.get();
+		return switch (tag) {
+			case NULL -> null;
+			case BOOLEAN -> this.readBoolean();
+			case BYTE -> this.buffer.get();
+			case CHAR -> (char) this.readVarInt();
+			case SHORT -> (short) this.readVarInt();
+			case INT -> this.readVarInt();
+			case LONG -> this.buffer.getLong();
+			case FLOAT -> Float.intBitsToFloat(this.readVarInt());
+			case DOUBLE -> Double.longBitsToDouble(this.buffer.getLong());
+			case STRING -> this.readString();
+			case TYPE -> this.readType();
+			case LIST -> {
+				int count = this.readVarInt();
+				List<Object> values = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					values.add(this.readValue());
+				}
+				yield values;
+			}
+			case ANNOTATION -> this.readAnnotation();
+			default -> throw new IllegalStateException("Unknown value tag " + tag + " in class index");
+		};
+	}
+	
+	private @NotNull Set<TypeModifier> readModifiers() {
+		int bits = this.readVarInt();
+		Set<TypeModifier> modifiers = EnumSet.noneOf(TypeModifier.class);
+		for (TypeModifier modifier : MODIFIERS) {
+			if ((bits & (1 << modifier.ordinal())) != 0) {
+				modifiers.add(modifier);
+			}
+		}
+		return modifiers;
+	}
+	
+	private @NotNull List<Type> readTypes() {
+		int count = this.readVarInt();
+		List<Type> types = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			types.add(this.readType());
+		}
+		return types;
+	}
+	
+	private @Nullable Type readType() {
+		String descriptor = this.readString();
+		return descriptor == null ? null : this.types.computeIfAbsent(descriptor, Type::getType);
+	}
+	
+	private @Nullable String readString() {
+		int index = this.readVarInt();
+		return index == 0 ? null : this.strings[index - 1];
+	}
+	
+	private boolean readBoolean() {
+		return this.buffer.get() != 0;
+	}
+	
+	private int readVarInt() {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = this.buffer.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalStateException("Malformed variable length integer in class index");
+	}
+	//endregion
+}
@@ -0,0 +1,258 @@
+package net.luis.agent.asm.index;
+
+import net.luis.agent.asm.data.*;
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.type.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassDataWriter {
+	
+	static final int NULL = 0;
+	static final int BOOLEAN = 1;
+	static final int BYTE = 2;
+	static final int CHAR = 3;
+	static final int SHORT = 4;
+	static final int INT = 5;
+	static final int LONG = 6;
+	static final int FLOAT = 7;
+	static final int DOUBLE = 8;
+	static final int STRING = 9;
+	static final int TYPE = 10;
+	static final int LIST = 11;
+	static final int ANNOTATION = 12;
+	
+	private final Map<String, Integer> strings = new LinkedHashMap<>();
+	private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+	private int classes;
+	
+	public void write(@NotNull Class clazz) {
+		this.writeType(clazz.getType());
+		this.writeString(clazz.getName());
+		this.writeString(clazz.getSignature(SignatureType.GENERIC));
+		this.writeVarInt(clazz.getAccess().ordinal());
+		this.writeVarInt(clazz.getClassType().ordinal());
+		this.writeModifiers(clazz.getModifiers());
+		this.writeType(clazz.getSuperType());
+		this.writeTypes(clazz.getPermittedSubclasses());
+		this.writeTypes(clazz.getInterfaces());
+		this.writeAnnotations(clazz.getAnnotations());
+		ScanLevel level = clazz.getLevel();
+		this.writeVarInt(level.ordinal());
+		if (level == ScanLevel.HEADER) {
+			this.writeVarInt(0);
+			this.writeVarInt(0);
+			this.writeVarInt(0);
+			this.writeInnerClasses(clazz.getInnerClasses());
+			this.classes++;
+			return;
+		}
+		this.writeVarInt(clazz.getRecordComponents().size());
+		for (RecordComponent component : clazz.getRecordComponents().values()) {
+			this.writeString(component.getName());
+			this.writeType(component.getType());
+			this.writeString(component.getSignature(SignatureType.GENERIC));
+			this.writeAnnotations(component.getAnnotations());
+		}
+		this.writeVarInt(clazz.getFields().size());
+		for (Field field : clazz.getFields().values()) {
+			this.writeString(field.getName());
+			this.writeType(field.getType());
+			this.writeString(field.getSignature(SignatureType.GENERIC));
+			this.writeVarInt(field.getAccess().ordinal());
+			this.writeModifiers(field.getModifiers());
+			this.writeValue(field.getInitialValue().get());
+			this.writeAnnotations(field.getAnnotations());
+		}
+		this.writeVarInt(clazz.getMethods().size());
+		for (Method method : clazz.getMethods().values()) {
+			this.writeMethod(method, level == ScanLevel.CODE);
+		}
+		this.writeInnerClasses(clazz.getInnerClasses());
+		this.classes++;
+	}
+	
+	public byte @NotNull [] toByteArray() {
+		ByteArrayOutputStream output = new ByteArrayOutputStream(this.records.size() + this.strings.size() * 16);
+		writeVarInt(output, this.strings.size());
+		for (String string : this.strings.keySet()) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(output, bytes.length);
+			output.writeBytes(bytes);
+		}
+		writeVarInt(output, this.classes);
+		output.writeBytes(this.records.toByteArray());
+		return output.toByteArray();
+	}
+	
+	//region Helper methods
+	private static void writeVarInt(@NotNull ByteArrayOutputStream output, int value) {
+		while ((value & ~0x7F) != 0) {
+			output.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.write(value);
+	}
+	
+	private void writeMethod(@NotNull Method method, boolean code) {
+		this.writeString(method.getName());
+		this.writeType(method.getType());
+		this.writeString(method.getSignature(SignatureType.GENERIC));
+		this.writeVarInt(method.getAccess().ordinal());
+		this.writeModifiers(method.getModifiers());
+		this.writeBoolean(code && method.is(MethodType.PRIMARY_CONSTRUCTOR));
+		this.writeAnnotations(method.getAnnotations());
+		this.writeTypes(method.getExceptions());
+		this.writeVarInt(method.getParameters().size());
+		for (Parameter parameter : method.getParameters().values()) {
+			this.writeVarInt(parameter.getIndex());
+			this.writeString(parameter.getName());
+			this.writeType(parameter.getType());
+			this.writeModifiers(parameter.getModifiers());
+			this.writeAnnotations(parameter.getAnnotations());
+		}
+		List<LocalVariable> locals = code ? method.getLocals() : List.of();
+		this.writeVarInt(locals.size());
+		for (LocalVariable local : locals) {
+			this.writeVarInt(local.getIndex());
+			this.writeString(local.getName());
+			this.writeType(local.getType());
+			this.writeString(local.getSignature(SignatureType.GENERIC));
+			this.writeVarInt(local.getStart());
+			this.writeVarInt(local.getEnd());
+			this.writeAnnotations(local.getAnnotations());
+		}
+		this.writeValue(method.getAnnotationDefault().get());
+	}
+	
+	private void writeInnerClasses(@NotNull List<InnerClass> innerClasses) {
+		this.writeVarInt(innerClasses.size());
+		for (InnerClass innerClass : innerClasses) {
+			this.writeString(innerClass.getName());
+			this.writeType(innerClass.getType());
+			this.writeVarInt(innerClass.getAccess().ordinal());
+			this.writeVarInt(innerClass.getClassType().ordinal());
+			this.writeModifiers(innerClass.getModifiers());
+		}
+	}
+	
+	private void writeAnnotations(@NotNull Map<Type, Annotation> annotations) {
+		this.writeVarInt(annotations.size());
+		for (Annotation annotation : annotations.values()) {
+			this.writeAnnotation(annotation);
+		}
+	}
+	
+	private void writeAnnotation(@NotNull Annotation annotation) {
+		this.writeType(annotation.getType());
+		this.writeBoolean(annotation.isVisible());
+		this.writeVarInt(annotation.getValues().size());
+		annotation.getValues().forEach((name, value) -> {
+			this.writeString(name);
+			this.writeValue(value);
+		});
+	}
+	
+	private void writeValue(@Nullable Object value) {
+		switch (value) {
+			case null -> this.records.write(NULL);
+			case Boolean b -> {
+				this.records.write(BOOLEAN);
+				this.writeBoolean(b);
+			}
+			case Byte b -> {
+				this.records.write(BYTE);
+				this.records.write(b);
+			}
+			case Character c -> {
+				this.records.write(CHAR);
+				this.writeVarInt(c);
+			}
+			case Short s -> {
+				this.records.write(SHORT);
+				this.writeVarInt(s);
+			}
+			case Integer i -> {
+				this.records.write(INT);
+				this.writeVarInt(i);
+			}
+			case Long l -> {
+				this.records.write(LONG);
+				this.writeLong(l);
+			}
+			case Float f -> {
+				this.records.write(FLOAT);
+				this.writeVarInt(Float.floatToRawIntBits(f));
+			}
+			case Double d -> {
+				this.records.write(DOUBLE);
+				this.writeLong(Double.doubleToRawLongBits(d));
+			}
+			case String s -> {
+				this.records.write(STRING);
+				this.writeString(s);
+			}
+			case Type t -> {
+				this.records.write(TYPE);
+				this.writeType(t);
+			}
+			case List<?> list -> {
+				this.records.write(LIST);
+				this.writeVarInt(list.size());
+				list.forEach(this::writeValue);
+			}
+			case Annotation annotation -> {
+				this.records.write(ANNOTATION);
+				this.writeAnnotation(annotation);
+			}
+			default -> throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName() + " can not be written to class index");
+		}
+	}
+	
+	private void writeModifiers(@NotNull Set<TypeModifier> modifiers) {
+		int bits = 0;
+		for (TypeModifier modifier : modifiers) {
+			bits |= 1 << modifier.ordinal();
+		}
+		this.writeVarInt(bits);
+	}
+	
+	private void writeTypes(@NotNull List<Type> types) {
+		this.writeVarInt(types.size());
+		types.forEach(this::writeType);
+	}
+	
+	private void writeType(@Nullable Type type) {
+		this.writeString(type == null ? null : type.getDescriptor());
+	}
+	
+	private void writeString(@Nullable String string) {
+		this.writeVarInt(string == null ? 0 : this.strings.computeIfAbsent(string, s -> this.strings.size()) + 1);
+	}
+	
+	private void writeBoolean(boolean value) {
+		this.records.write(value ? 1 : 0);
+	}
+	
+	private void writeVarInt(int value) {
+		writeVarInt(this.records, value);
+	}
+	
+	private void writeLong(long value) {
+		for (int i = 56; i >= 0; i -= 8) {
+			this.records.write((int) (value >>> i));
+		}
+	}
+	//endregion
+}
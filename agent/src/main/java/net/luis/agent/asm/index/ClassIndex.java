@@ -0,0 +1,223 @@
+package net.luis.agent.asm.index;
+
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.type.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassIndex {
+	
+	private static final int MAGIC = 0x4C41494E;
+	private static final int VERSION = 2;
+	private static final long FINGERPRINT = createFingerprint();
+	
+	private final Map</*Source Path*/String, Entry> entries = new LinkedHashMap<>();
+	private final Set<String> used = new HashSet<>();
+	private final File file;
+	private boolean modified;
+	
+	private ClassIndex(@NotNull File file) {
+		this.file = file;
+	}
+	
+	public static @NotNull ClassIndex open(@NotNull File file) {
+		ClassIndex index = new ClassIndex(file);
+		if (file.isFile()) {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				index.load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			} catch (IOException | RuntimeException e) {
+				System.err.println("Unable to read class index " + file + ", it will be rebuilt: " + e.getMessage());
+				index.entries.clear();
+			}
+		}
+		return index;
+	}
+	
+	//region Static helper methods
+	private static long createFingerprint() {
+		CRC32C crc = new CRC32C();
+		Stream.of(TypeAccess.values(), ClassType.values(), InnerClassType.values(), TypeModifier.values(), ScanLevel.values()).flatMap(Arrays::stream).forEach(constant -> crc.update(constant.name().getBytes(StandardCharsets.UTF_8)));
+		long fingerprint = crc.getValue();
+		CodeSource source = ClassIndex.class.getProtectionDomain().getCodeSource();
+		if (source != null && "file".equals(source.getLocation().getProtocol())) {
+			File agent = new File(source.getLocation().getPath());
+			try {
+				fingerprint = fingerprint * 31 + hash(agent, getFiles(agent));
+			} catch (IOException e) {
+				// Without a hash of the agent an existing index can not be trusted, a random fingerprint forces a rebuild
+				fingerprint = fingerprint * 31 + System.nanoTime();
+			}
+		}
+		return fingerprint;
+	}
+	
+	private static @NotNull List<File> getFiles(@NotNull File source) {
+		List<File> files = new ArrayList<>();
+		if (source.isDirectory()) {
+			files.add(source);
+			collectFiles(source, files);
+		} else if (source.isFile()) {
+			files.add(source);
+		}
+		return files;
+	}
+	
+	private static void collectFiles(@NotNull File directory, @NotNull List<File> files) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		Arrays.sort(children);
+		for (File child : children) {
+			if (child.isDirectory()) {
+				files.add(child);
+				collectFiles(child, files);
+			} else if (child.getName().endsWith(".class") || child.getName().endsWith(".jar")) {
+				files.add(child);
+			}
+		}
+	}
+	
+	private static long hash(@NotNull File source, @NotNull List<File> files) throws IOException {
+		CRC32C crc = new CRC32C();
+		for (File file : files) {
+			if (file.isDirectory()) {
+				continue;
+			}
+			if (!file.equals(source)) {
+				crc.update(source.toPath().relativize(file.toPath()).toString().getBytes(StandardCharsets.UTF_8));
+			}
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			}
+		}
+		return crc.getValue();
+	}
+	
+	private static @NotNull String readString(@NotNull ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	//endregion
+	
+	public @Nullable List<Class> read(@NotNull File source) {
+		String path = source.getAbsolutePath();
+		this.used.add(path);
+		Entry entry = this.entries.get(path);
+		if (entry == null) {
+			return null;
+		}
+		try {
+			List<File> files = getFiles(source);
+			long size = files.stream().mapToLong(File::length).sum();
+			long lastModified = files.stream().mapToLong(File::lastModified).max().orElse(0);
+			if (entry.size() != size || entry.lastModified() != lastModified) {
+				if (entry.hash() != hash(source, files)) {
+					return null;
+				}
+				this.entries.put(path, new Entry(size, lastModified, entry.hash(), entry.data()));
+				this.modified = true;
+			}
+			return new ClassDataReader(entry.data().duplicate()).readAll();
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Unable to read indexed classes of " + source + ", it will be rescanned: " + e.getMessage());
+			return null;
+		}
+	}
+	
+	public void write(@NotNull File source, @NotNull List<Class> classes) {
+		String path = source.getAbsolutePath();
+		this.used.add(path);
+		try {
+			ClassDataWriter writer = new ClassDataWriter();
+			classes.forEach(writer::write);
+			List<File> files = getFiles(source);
+			long size = files.stream().mapToLong(File::length).sum();
+			long lastModified = files.stream().mapToLong(File::lastModified).max().orElse(0);
+			this.entries.put(path, new Entry(size, lastModified, hash(source, files), ByteBuffer.wrap(writer.toByteArray())));
+			this.modified = true;
+		} catch (IOException | RuntimeException e) {
+			this.entries.remove(path);
+			System.err.println("Unable to index classes of " + source + ": " + e.getMessage());
+		}
+	}
+	
+	public void save() {
+		if (this.entries.keySet().retainAll(this.used)) {
+			this.modified = true;
+		}
+		if (!this.modified) {
+			return;
+		}
+		Path target = this.file.toPath().toAbsolutePath();
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(target.getParent());
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeLong(FINGERPRINT);
+				output.writeInt(this.entries.size());
+				for (Map.Entry<String, Entry> mapEntry : this.entries.entrySet()) {
+					byte[] path = mapEntry.getKey().getBytes(StandardCharsets.UTF_8);
+					Entry entry = mapEntry.getValue();
+					output.writeInt(path.length);
+					output.write(path);
+					output.writeLong(entry.size());
+					output.writeLong(entry.lastModified());
+					output.writeLong(entry.hash());
+					byte[] data = new byte[entry.data().remaining()];
+					entry.data().duplicate().get(data);
+					output.writeInt(data.length);
+					output.write(data);
+					// Reused entries are slices of the mapped index, they are copied out before the file is replaced
+					mapEntry.setValue(new Entry(entry.size(), entry.lastModified(), entry.hash(), ByteBuffer.wrap(data)));
+				}
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			this.modified = false;
+		} catch (IOException e) {
+			System.err.println("Unable to write class index " + this.file + ": " + e.getMessage());
+		}
+	}
+	
+	private void load(@NotNull MappedByteBuffer buffer) {
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != FINGERPRINT) {
+			System.out.println("Class index " + this.file + " is outdated, it will be rebuilt");
+			return;
+		}
+		int count = buffer.getInt();
+		for (int i = 0; i < count; i++) {
+			String path = readString(buffer);
+			long size = buffer.getLong();
+			long lastModified = buffer.getLong();
+			long hash = buffer.getLong();
+			int length = buffer.getInt();
+			ByteBuffer data = buffer.slice(buffer.position(), length);
+			buffer.position(buffer.position() + length);
+			this.entries.put(path, new Entry(size, lastModified, hash, data));
+		}
+	}
+	
+	//region Internal
+	private record Entry(long size, long lastModified, long hash, @NotNull ByteBuffer data) {}
+	//endregion
+}
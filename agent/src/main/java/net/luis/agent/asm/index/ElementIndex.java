@@ -0,0 +1,111 @@
+package net.luis.agent.asm.index;
+
+import net.luis.agent.asm.scanner.ClassArchive;
+import net.luis.agent.asm.scanner.ClassPathReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static net.luis.agent.asm.Types.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ElementIndex {
+	
+	public static final String LOCATION = "META-INF/agent/elements.index";
+	public static final String TYPE = "TYPE";
+	
+	private final Set</*Owner*/Type> types;
+	private final List<Element> elements;
+	
+	private ElementIndex(@NotNull Set<Type> types, @NotNull List<Element> elements) {
+		this.types = types;
+		this.elements = elements;
+	}
+	
+	public static @Nullable ElementIndex read(@NotNull File source) {
+		try {
+			if (source.isDirectory()) {
+				File file = new File(source, LOCATION);
+				return file.isFile() ? parse(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) : null;
+			}
+			ClassArchive archive = ClassPathReader.getArchive(source);
+			if (archive != null) {
+				byte[] bytes = archive.readBytes(LOCATION);
+				return bytes == null ? null : parse(new String(bytes, StandardCharsets.UTF_8).lines().toList());
+			}
+			try (JarFile jar = new JarFile(source)) {
+				JarEntry entry = jar.getJarEntry(LOCATION);
+				if (entry == null) {
+					return null;
+				}
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(jar.getInputStream(entry), StandardCharsets.UTF_8))) {
+					return parse(reader.lines().toList());
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Unable to read element index of " + source + ", it will be scanned instead: " + e.getMessage());
+			return null;
+		}
+	}
+	
+	private static @NotNull ElementIndex parse(@NotNull List<String> lines) {
+		Set<Type> types = new HashSet<>();
+		List<Element> elements = new ArrayList<>(lines.size());
+		for (String line : lines) {
+			if (line.isBlank()) {
+				continue;
+			}
+			String[] parts = line.split("\t");
+			if (parts.length == 2 && TYPE.equals(parts[0])) {
+				types.add(Type.getObjectType(parts[1]));
+			} else if (parts.length == 4) {
+				elements.add(new Element(Kind.valueOf(parts[0]), Type.getObjectType(parts[1]), parts[2], Type.getType(parts[3])));
+			} else {
+				throw new IllegalStateException("Malformed element index entry '" + line + "'");
+			}
+		}
+		// Elements of types the processor did not see are incomplete, their owners are scanned instead
+		elements.removeIf(element -> !types.contains(element.owner()));
+		return new ElementIndex(types, elements);
+	}
+	
+	//region Getters
+	public @NotNull List<Element> getElements() {
+		return this.elements;
+	}
+	//endregion
+	
+	public boolean isIndexed(@NotNull Type type) {
+		return this.types.contains(type);
+	}
+	
+	//region Internal
+	public enum Kind {
+		
+		CLASS,
+		RECORD_COMPONENT,
+		FIELD,
+		METHOD,
+		PARAMETER;
+	}
+	
+	public record Element(@NotNull Kind kind, @NotNull Type owner, @NotNull String member, @NotNull Type annotation) {
+		
+		public boolean isDiscoverable() {
+			return this.kind == Kind.CLASS && (INJECT_INTERFACE.equals(this.annotation) || PATTERN.equals(this.annotation));
+		}
+	}
+	//endregion
+}
@@ -0,0 +1,212 @@
+package net.luis.agent.asm.index;
+
+import net.luis.agent.asm.scanner.ClassPathReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class TransformedClassCache {
+	
+	private static final int MAGIC = 0x4C415443;
+	private static final int VERSION = 1;
+	private static final int KEY_LENGTH = 32;
+	private static final int HEADER_LENGTH = 8 + KEY_LENGTH;
+	
+	// Keys and values are slices of the mapped cache file, entries written during this run are only remembered by their key
+	private final Map</*Input Hash*/ByteBuffer, ByteBuffer> entries = new ConcurrentHashMap<>();
+	private final Set</*Input Hash*/ByteBuffer> written = ConcurrentHashMap.newKeySet();
+	private final Map</*Dependency*/Type, byte[]> dependencies = new ConcurrentHashMap<>();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Transformed Class Cache Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final File file;
+	private final byte[] fingerprint;
+	private FileChannel channel;
+	
+	private TransformedClassCache(@NotNull File file, byte @NotNull [] fingerprint) {
+		this.file = file;
+		this.fingerprint = fingerprint;
+	}
+	
+	public static @NotNull TransformedClassCache open(@NotNull File file, @NotNull List<String> configuration) {
+		TransformedClassCache cache = new TransformedClassCache(file, createFingerprint(configuration));
+		try {
+			Path path = file.toPath().toAbsolutePath();
+			Files.createDirectories(path.getParent());
+			cache.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			long length = cache.validate();
+			if (length == -1) {
+				cache.channel.truncate(0);
+				ByteBuffer header = ByteBuffer.wrap(cache.createHeader());
+				while (header.hasRemaining()) {
+					cache.channel.write(header, header.position());
+				}
+				length = HEADER_LENGTH;
+			} else {
+				// Drops a partially written entry of a previous run before the file is mapped, so new entries are appended right after the last complete one
+				cache.channel.truncate(length);
+				cache.load(cache.channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+			}
+			cache.channel.position(length);
+			Runtime.getRuntime().addShutdownHook(new Thread(cache::close, "Transformed Class Cache Shutdown"));
+		} catch (IOException | RuntimeException e) {
+			System.err.println("Unable to open transformed class cache " + file + ", transformed classes will not be cached: " + e.getMessage());
+			cache.entries.clear();
+			if (cache.channel != null) {
+				try {
+					cache.channel.close();
+				} catch (IOException ignored) {}
+				cache.channel = null;
+			}
+		}
+		System.out.println("Loaded " + cache.entries.size() + " transformed classes from cache " + file);
+		return cache;
+	}
+	
+	//region Static helper methods
+	private static @NotNull MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported by this runtime", e);
+		}
+	}
+	
+	private static byte @NotNull [] createFingerprint(@NotNull List<String> configuration) {
+		MessageDigest digest = createDigest();
+		CodeSource source = TransformedClassCache.class.getProtectionDomain().getCodeSource();
+		if (source != null && "file".equals(source.getLocation().getProtocol())) {
+			updateDigest(digest, new File(source.getLocation().getPath()));
+		}
+		digest.update(Runtime.version().toString().getBytes(StandardCharsets.UTF_8));
+		configuration.forEach(value -> digest.update(value.getBytes(StandardCharsets.UTF_8)));
+		return digest.digest();
+	}
+	
+	private static void updateDigest(@NotNull MessageDigest digest, @NotNull File file) {
+		digest.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		if (file.isDirectory()) {
+			try (Stream<Path> stream = Files.walk(file.toPath())) {
+				stream.filter(Files::isRegularFile).sorted().forEach(path -> updateDigest(digest, path.toFile()));
+			} catch (IOException | UncheckedIOException e) {
+				digest.update((byte) 0);
+			}
+		} else {
+			digest.update(ByteBuffer.allocate(16).putLong(file.length()).putLong(file.lastModified()).flip());
+		}
+	}
+	//endregion
+	
+	public @NotNull ByteBuffer createKey(byte @NotNull [] buffer, @NotNull List<Type> hierarchy, @NotNull List<Type> dependencies) {
+		MessageDigest digest = createDigest();
+		digest.update(buffer);
+		// Frames of the transformed class depend on its hierarchy, the generated code on the classes the transformers read while transforming it
+		hierarchy.forEach(type -> digest.update(type.getInternalName().getBytes(StandardCharsets.UTF_8)));
+		for (Type dependency : dependencies) {
+			digest.update(dependency.getInternalName().getBytes(StandardCharsets.UTF_8));
+			digest.update(this.dependencies.computeIfAbsent(dependency, this::createDependencyHash));
+		}
+		return ByteBuffer.wrap(digest.digest());
+	}
+	
+	public @Nullable ByteBuffer get(@NotNull ByteBuffer key) {
+		ByteBuffer bytes = this.entries.get(key);
+		return bytes == null ? null : bytes.duplicate();
+	}
+	
+	public void put(@NotNull ByteBuffer key, byte @NotNull [] bytes) {
+		if (this.channel == null || this.entries.containsKey(key) || !this.written.add(key)) {
+			return;
+		}
+		this.executor.execute(() -> {
+			ByteBuffer entry = ByteBuffer.allocate(KEY_LENGTH + 4 + bytes.length).put(key.duplicate()).putInt(bytes.length).put(bytes).flip();
+			try {
+				while (entry.hasRemaining()) {
+					this.channel.write(entry);
+				}
+			} catch (IOException e) {
+				System.err.println("Unable to write transformed class to cache " + this.file + ": " + e.getMessage());
+			}
+		});
+	}
+	
+	//region Helper methods
+	private byte @NotNull [] createHeader() {
+		return ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION).put(this.fingerprint).array();
+	}
+	
+	private byte @NotNull [] createDependencyHash(@NotNull Type type) {
+		MessageDigest digest = createDigest();
+		try {
+			ByteBuffer buffer = ClassPathReader.read(type.getInternalName() + ".class");
+			if (buffer != null) {
+				digest.update(buffer);
+			}
+		} catch (IOException e) {
+			digest.update((byte) 0);
+		}
+		return digest.digest();
+	}
+	
+	private long validate() throws IOException {
+		long size = this.channel.size();
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		while (header.hasRemaining() && this.channel.read(header, header.position()) != -1);
+		if (header.hasRemaining() || !header.flip().equals(ByteBuffer.wrap(this.createHeader()))) {
+			if (size > 0) {
+				System.out.println("Transformed class cache " + this.file + " is outdated, it will be rebuilt");
+			}
+			return -1;
+		}
+		long position = HEADER_LENGTH;
+		ByteBuffer length = ByteBuffer.allocate(4);
+		while (size - position >= KEY_LENGTH + 4) {
+			length.clear();
+			while (length.hasRemaining() && this.channel.read(length, position + KEY_LENGTH + length.position()) != -1);
+			int entryLength = length.getInt(0);
+			if (0 > entryLength || entryLength > size - position - KEY_LENGTH - 4) {
+				break;
+			}
+			position += KEY_LENGTH + 4 + entryLength;
+		}
+		return position;
+	}
+	
+	private void load(@NotNull MappedByteBuffer buffer) {
+		int position = HEADER_LENGTH;
+		while (position < buffer.limit()) {
+			int length = buffer.getInt(position + KEY_LENGTH);
+			this.entries.put(buffer.slice(position, KEY_LENGTH), buffer.slice(position + KEY_LENGTH + 4, length));
+			position += KEY_LENGTH + 4 + length;
+		}
+	}
+	
+	private void close() {
+		this.executor.shutdown();
+		try {
+			if (this.executor.awaitTermination(5, TimeUnit.SECONDS)) {
+				this.channel.close();
+			}
+		} catch (InterruptedException | IOException ignored) {}
+	}
+	//endregion
+}
@@ -1,5 +1,6 @@
 package net.luis.agent.asm.report;
 
+import net.luis.agent.metrics.event.CrashReportEvent;
 import net.luis.agent.util.SortedHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -129,6 +130,14 @@ public class CrashReport {
 	}
 	
 	public void print(@NotNull PrintStream stream) {
+		CrashReportEvent event = new CrashReportEvent();
+		if (event.shouldCommit()) {
+			event.message = this.message;
+			event.category = this.category;
+			event.exception = this.exception == null ? null : this.exception.getClass().getName();
+			event.canContinue = this.canContinue;
+			event.commit();
+		}
 		stream.println(this);
 	}
 	
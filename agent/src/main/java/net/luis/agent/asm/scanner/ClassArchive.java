@@ -0,0 +1,224 @@
+package net.luis.agent.asm.scanner;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassArchive {
+	
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054B50;
+	private static final int CENTRAL_DIRECTORY_HEADER = 0x02014B50;
+	private static final int LOCAL_FILE_HEADER = 0x04034B50;
+	private static final int MAX_POOLED_INFLATERS = Runtime.getRuntime().availableProcessors() * 2;
+	private static final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger pooled = new AtomicInteger();
+	private static final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[8192]);
+	
+	private final File file;
+	private final ByteBuffer data;
+	private final Map<String, Entry> entries;
+	private final int release;
+	
+	private ClassArchive(@NotNull File file, @NotNull ByteBuffer data, @NotNull Map<String, Entry> entries, int release) {
+		this.file = file;
+		this.data = data;
+		this.entries = entries;
+		this.release = release;
+	}
+	
+	public static @NotNull ClassArchive open(@NotNull File file) throws IOException {
+		ByteBuffer data;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new ZipException("Archive is too large to be mapped: " + file);
+			}
+			data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		Map<String, Entry> entries = readCentralDirectory(file, data);
+		ClassArchive archive = new ClassArchive(file, data, entries, 0);
+		int release = archive.getMultiReleaseVersion();
+		return release == 0 ? archive : new ClassArchive(file, data, entries, release);
+	}
+	
+	//region Static helper methods
+	private static @NotNull Map<String, Entry> readCentralDirectory(@NotNull File file, @NotNull ByteBuffer data) throws ZipException {
+		int end = findEndOfCentralDirectory(data);
+		if (end == -1) {
+			throw new ZipException("End of central directory not found in " + file);
+		}
+		int count = data.getShort(end + 10) & 0xFFFF;
+		long offset = data.getInt(end + 16) & 0xFFFFFFFFL;
+		if (count == 0xFFFF || offset == 0xFFFFFFFFL) {
+			throw new ZipException("Zip64 archives are not supported: " + file);
+		}
+		Map<String, Entry> entries = new HashMap<>(count * 2);
+		int position = (int) offset;
+		for (int i = 0; i < count; i++) {
+			if (data.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+				throw new ZipException("Invalid central directory header in " + file + " at " + position);
+			}
+			int method = data.getShort(position + 10) & 0xFFFF;
+			int compressedSize = data.getInt(position + 20);
+			int size = data.getInt(position + 24);
+			int nameLength = data.getShort(position + 28) & 0xFFFF;
+			int extraLength = data.getShort(position + 30) & 0xFFFF;
+			int commentLength = data.getShort(position + 32) & 0xFFFF;
+			int localHeader = data.getInt(position + 42);
+			byte[] name = new byte[nameLength];
+			data.get(position + 46, name);
+			entries.put(new String(name, StandardCharsets.UTF_8), new Entry(method, compressedSize, size, localHeader));
+			position += 46 + nameLength + extraLength + commentLength;
+		}
+		return entries;
+	}
+	
+	private static int findEndOfCentralDirectory(@NotNull ByteBuffer data) {
+		int minimum = Math.max(0, data.limit() - 0xFFFF - 22);
+		for (int position = data.limit() - 22; position >= minimum; position--) {
+			if (data.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+				return position;
+			}
+		}
+		return -1;
+	}
+	
+	private static @NotNull Inflater borrowInflater() {
+		Inflater inflater = inflaters.poll();
+		if (inflater == null) {
+			return new Inflater(true);
+		}
+		pooled.decrementAndGet();
+		return inflater;
+	}
+	
+	private static void releaseInflater(@NotNull Inflater inflater) {
+		inflater.reset();
+		if (pooled.incrementAndGet() > MAX_POOLED_INFLATERS) {
+			pooled.decrementAndGet();
+			inflater.end();
+		} else {
+			inflaters.offer(inflater);
+		}
+	}
+	//endregion
+	
+	public @NotNull File getFile() {
+		return this.file;
+	}
+	
+	public @NotNull Set<String> getEntryNames() {
+		return Collections.unmodifiableSet(this.entries.keySet());
+	}
+	
+	public boolean contains(@NotNull String name) {
+		return this.getEntry(name) != null;
+	}
+	
+	public byte @Nullable [] readBytes(@NotNull String name) throws IOException {
+		Entry entry = this.getEntry(name);
+		if (entry == null) {
+			return null;
+		}
+		byte[] bytes = new byte[entry.size()];
+		if (entry.method() == ZipEntry.STORED) {
+			this.getContent(entry).get(0, bytes);
+		} else {
+			this.inflate(entry, bytes);
+		}
+		return bytes;
+	}
+	
+	public @Nullable ByteBuffer read(@NotNull String name) throws IOException {
+		Entry entry = this.getEntry(name);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.method() == ZipEntry.STORED) {
+			return this.getContent(entry);
+		}
+		byte[] buffer = buffers.get();
+		if (entry.size() > buffer.length) {
+			buffer = new byte[Math.max(entry.size(), buffer.length * 2)];
+			buffers.set(buffer);
+		}
+		this.inflate(entry, buffer);
+		return ByteBuffer.wrap(buffer, 0, entry.size());
+	}
+	
+	//region Helper methods
+	private @Nullable Entry getEntry(@NotNull String name) {
+		if (this.release != 0) {
+			for (int version = this.release; version >= 9; version--) {
+				Entry entry = this.entries.get("META-INF/versions/" + version + "/" + name);
+				if (entry != null) {
+					return entry;
+				}
+			}
+		}
+		return this.entries.get(name);
+	}
+	
+	private int getMultiReleaseVersion() throws IOException {
+		byte[] manifest = this.readBytes("META-INF/MANIFEST.MF");
+		if (manifest == null || !new String(manifest, StandardCharsets.UTF_8).contains("Multi-Release: true")) {
+			return 0;
+		}
+		return Runtime.version().feature();
+	}
+	
+	private @NotNull ByteBuffer getContent(@NotNull Entry entry) throws ZipException {
+		int header = entry.localHeader();
+		if (this.data.getInt(header) != LOCAL_FILE_HEADER) {
+			throw new ZipException("Invalid local file header in " + this.file + " at " + header);
+		}
+		int offset = header + 30 + (this.data.getShort(header + 26) & 0xFFFF) + (this.data.getShort(header + 28) & 0xFFFF);
+		return this.data.slice(offset, entry.method() == ZipEntry.STORED ? entry.size() : entry.compressedSize());
+	}
+	
+	private void inflate(@NotNull Entry entry, byte @NotNull [] buffer) throws IOException {
+		if (entry.method() != ZipEntry.DEFLATED) {
+			throw new ZipException("Unsupported compression method " + entry.method() + " in " + this.file);
+		}
+		Inflater inflater = borrowInflater();
+		try {
+			inflater.setInput(this.getContent(entry));
+			int length = 0;
+			while (length < entry.size()) {
+				int inflated = inflater.inflate(buffer, length, entry.size() - length);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				length += inflated;
+			}
+			if (length != entry.size()) {
+				throw new ZipException("Invalid entry size in " + this.file + ", expected " + entry.size() + " but was " + length);
+			}
+		} catch (DataFormatException e) {
+			throw new ZipException("Invalid compressed data in " + this.file + ": " + e.getMessage());
+		} finally {
+			releaseInflater(inflater);
+		}
+	}
+	//endregion
+	
+	//region Internal
+	private record Entry(int method, int compressedSize, int size, int localHeader) {}
+	//endregion
+}
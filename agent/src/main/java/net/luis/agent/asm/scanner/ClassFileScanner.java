@@ -1,12 +1,15 @@
 package net.luis.agent.asm.scanner;
 
-import net.luis.agent.annotation.RestrictedAccess;
 import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.type.ScanLevel;
+import net.luis.agent.metrics.event.ClassScanEvent;
 import org.jetbrains.annotations.NotNull;
 import org.objectweb.asm.*;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
 import java.util.function.Function;
 
 /**
@@ -18,47 +21,97 @@ import java.util.function.Function;
 public class ClassFileScanner {
 	
 	public static @NotNull Class scanClass(@NotNull Type type) {
-		return scanClass(type, new ClassScanner(), ClassScanner::get);
+		return scanClass(type, ScanLevel.CODE);
 	}
 	
-	public static <T extends ClassVisitor> void scanClass(@NotNull Type type, @NotNull T visitor) {
-		scanClass(readClass(type), visitor, Function.identity());
+	public static @NotNull Class scanClass(@NotNull Type type, @NotNull ScanLevel level) {
+		Class clazz = scanClass(readClass(type), new ClassScanner(level), ClassScanner::get, level.getParsingOptions());
+		return level == ScanLevel.CODE ? clazz : clazz.withLevel(level, l -> scanClass(type, l));
+	}
+	
+	public static @NotNull Class scanClass(@NotNull Type type, @NotNull ClassLoader loader, @NotNull ScanLevel level) {
+		Class clazz = scanClass(readClass(type, loader), new ClassScanner(level), ClassScanner::get, level.getParsingOptions());
+		if (level == ScanLevel.CODE) {
+			return clazz;
+		}
+		// The cached metadata must not keep the class loader alive, the remaining parts of the class are read again when they are requested
+		WeakReference<ClassLoader> reference = new WeakReference<>(loader);
+		return clazz.withLevel(level, l -> {
+			ClassLoader classLoader = reference.get();
+			if (classLoader == null) {
+				throw new IllegalStateException("Class loader of " + type.getClassName() + " was unloaded");
+			}
+			return scanClass(type, classLoader, l);
+		});
 	}
 	
-	@RestrictedAccess("net.luis.agent.AgentContext#initialize")
-	public static @NotNull Class scanGeneratedClass(byte @NotNull [] bytes) {
-		return scanClass(bytes, new ClassScanner(), ClassScanner::get);
+	public static @NotNull Class scanClass(byte @NotNull [] bytes) {
+		// The class is scanned completely, upgrading it later would require to keep the class file
+		return scanClass(bytes, new ClassScanner(ScanLevel.CODE), ClassScanner::get, ScanLevel.CODE.getParsingOptions());
 	}
 	
-	//region Helper methods
-	private static <T extends ClassVisitor, X> @NotNull X scanClass(@NotNull Type type, @NotNull T visitor, @NotNull Function<T, X> result) {
-		return scanClass(readClass(type), visitor, result);
+	public static <T extends ClassVisitor> void scanClass(@NotNull Type type, @NotNull T visitor) {
+		scanClass(readClass(type), visitor, Function.identity(), 0);
+	}
+	
+	public static <T extends ClassVisitor> void scanClass(byte @NotNull [] bytes, @NotNull T visitor) {
+		scanClass(bytes, visitor, Function.identity(), 0);
 	}
 	
-	private static <T extends ClassVisitor, X> @NotNull X scanClass(byte @NotNull [] bytes, @NotNull T visitor, @NotNull Function<T, X> result) {
+	//region Helper methods
+	private static <T extends ClassVisitor, X> @NotNull X scanClass(byte @NotNull [] bytes, @NotNull T visitor, @NotNull Function<T, X> result, int parsingOptions) {
+		ClassScanEvent event = new ClassScanEvent();
+		event.begin();
 		ClassReader reader = new ClassReader(bytes);
-		reader.accept(visitor, 0);
-		return result.apply(visitor);
+		reader.accept(visitor, parsingOptions);
+		X scanned = result.apply(visitor);
+		if (event.shouldCommit()) {
+			event.className = reader.getClassName().replace('/', '.');
+			event.size = bytes.length;
+			event.commit();
+		}
+		return scanned;
 	}
 	//endregion
 	
-	private static byte @NotNull [] readClass(@NotNull Type type) {
+	public static boolean isSystemClass(@NotNull Type type) {
+		return ClassLoader.getSystemResource(type.getInternalName() + ".class") != null;
+	}
+	
+	static byte @NotNull [] readClass(@NotNull Type type) {
 		String path = type.getInternalName() + ".class";
-		InputStream stream = ClassLoader.getSystemResourceAsStream(path);
-		if (stream == null) {
-			throw new IllegalStateException("Class not found in classpath: " + type.getClassName());
-		}
-		try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
-			int data;
-			while (true) {
-				data = stream.read();
-				if (data == -1) {
-					break;
+		try {
+			byte[] bytes = ClassPathReader.readBytes(path);
+			if (bytes != null) {
+				return bytes;
+			}
+			try (InputStream stream = ClassLoader.getSystemResourceAsStream(path)) {
+				if (stream == null) {
+					throw new IllegalStateException("Class not found in classpath: " + type.getClassName());
 				}
-				buffer.write(data);
+				return stream.readAllBytes();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read class file: " + type.getClassName(), e);
+		}
+	}
+	
+	static byte @NotNull [] readClass(@NotNull Type type, @NotNull ClassLoader loader) {
+		try (InputStream stream = loader.getResourceAsStream(type.getInternalName() + ".class")) {
+			if (stream == null) {
+				throw new IllegalStateException("Class not found in class loader " + loader.getName() + ": " + type.getClassName());
 			}
-			return buffer.toByteArray();
-		} catch (Exception e) {
+			return stream.readAllBytes();
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read class file: " + type.getClassName(), e);
+		}
+	}
+	
+	static @NotNull ByteBuffer readClassBuffer(@NotNull Type type) {
+		try {
+			ByteBuffer buffer = ClassPathReader.read(type.getInternalName() + ".class");
+			return buffer == null ? ByteBuffer.wrap(readClass(type)) : buffer;
+		} catch (IOException e) {
 			throw new IllegalStateException("Failed to read class file: " + type.getClassName(), e);
 		}
 	}
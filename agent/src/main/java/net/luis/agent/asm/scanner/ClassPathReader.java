@@ -0,0 +1,83 @@
+package net.luis.agent.asm.scanner;
+
+import net.luis.agent.util.Utils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ClassPathReader {
+	
+	private static final Map<File, Optional<ClassArchive>> archives = new ConcurrentHashMap<>();
+	private static final List<File> classPath = Utils.make(new ArrayList<>(), files -> {
+		String property = System.getProperty("java.class.path");
+		if (property != null) {
+			for (String path : property.split(File.pathSeparator)) {
+				files.add(new File(path));
+			}
+		}
+	});
+	
+	public static @NotNull List<File> getClassPath() {
+		return classPath;
+	}
+	
+	public static @Nullable ClassArchive getArchive(@NotNull File file) {
+		return archives.computeIfAbsent(file, f -> {
+			if (!f.isFile()) {
+				return Optional.empty();
+			}
+			try {
+				return Optional.of(ClassArchive.open(f));
+			} catch (IOException e) {
+				System.err.println("Unable to map archive " + f + ", falling back to the default class loader: " + e.getMessage());
+				return Optional.empty();
+			}
+		}).orElse(null);
+	}
+	
+	public static byte @Nullable [] readBytes(@NotNull String name) throws IOException {
+		for (File file : classPath) {
+			if (file.isDirectory()) {
+				File resource = new File(file, name);
+				if (resource.isFile()) {
+					return Files.readAllBytes(resource.toPath());
+				}
+			} else {
+				ClassArchive archive = getArchive(file);
+				if (archive != null && archive.contains(name)) {
+					return archive.readBytes(name);
+				}
+			}
+		}
+		return null;
+	}
+	
+	public static @Nullable ByteBuffer read(@NotNull String name) throws IOException {
+		for (File file : classPath) {
+			if (file.isDirectory()) {
+				File resource = new File(file, name);
+				if (resource.isFile()) {
+					return ByteBuffer.wrap(Files.readAllBytes(resource.toPath()));
+				}
+			} else {
+				ClassArchive archive = getArchive(file);
+				if (archive != null && archive.contains(name)) {
+					return archive.read(name);
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -1,5 +1,6 @@
 package net.luis.agent.asm.scanner;
 
+import net.luis.agent.metrics.event.ClassPathScanEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
@@ -20,11 +21,22 @@ public class ClassPathScanner {
 	
 	public static @NotNull List<Type> getClasses() {
 		List<Type> classes = new ArrayList<>();
-		for (File file : getClassPathFiles()) {
-			if (file.isDirectory()) {
-				classes.addAll(getClassesFromDirectory(file));
-			} else {
-				classes.addAll(getClassesFromJar(file));
+		getClassesBySource().values().forEach(classes::addAll);
+		return classes;
+	}
+	
+	public static @NotNull Map</*Jar or Directory*/File, List<Type>> getClassesBySource() {
+		Map<File, List<Type>> classes = new LinkedHashMap<>();
+		for (File file : ClassPathReader.getClassPath()) {
+			ClassPathScanEvent event = new ClassPathScanEvent();
+			event.begin();
+			List<Type> types = file.isDirectory() ? getClassesFromDirectory(file) : getClassesFromJar(file);
+			classes.put(file, types);
+			if (event.shouldCommit()) {
+				event.source = file.getPath();
+				event.classes = types.size();
+				event.size = file.isDirectory() ? 0 : file.length();
+				event.commit();
 			}
 		}
 		return classes;
@@ -32,7 +44,14 @@ public class ClassPathScanner {
 	
 	private static @NotNull List<Type> getClassesFromJar(@NotNull File file) {
 		List<Type> classes = new ArrayList<>();
-		if (file.exists() && file.canRead()) {
+		ClassArchive archive = ClassPathReader.getArchive(file);
+		if (archive != null) {
+			for (String name : archive.getEntryNames()) {
+				if (name.endsWith(".class")) {
+					classes.add(Type.getObjectType(convertToClass(name)));
+				}
+			}
+		} else if (file.exists() && file.canRead()) {
 			try (JarFile jar = new JarFile(file)) {
 				Enumeration<JarEntry> enumeration = jar.entries();
 				while (enumeration.hasMoreElements()) {
@@ -71,17 +90,6 @@ public class ClassPathScanner {
 		return files;
 	}
 	
-	private static @NotNull List<File> getClassPathFiles() {
-		List<File> files = new ArrayList<>();
-		String classPath = System.getProperty("java.class.path");
-		if (classPath != null) {
-			for (String path : classPath.split(File.pathSeparator)) {
-				files.add(new File(path));
-			}
-		}
-		return files;
-	}
-	
 	private static @NotNull String convertToClass(@NotNull String fileName) {
 		return fileName.substring(0, fileName.length() - 6).replace("\\", "/");
 	}
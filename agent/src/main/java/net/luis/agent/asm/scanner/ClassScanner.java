@@ -26,6 +26,7 @@ public class ClassScanner extends ClassVisitor {
 	private final Map<String, Field> fields = new HashMap<>();
 	private final Map<String, Method> methods = new HashMap<>();
 	private final List<InnerClass> innerClasses = new ArrayList<>();
+	private final ScanLevel level;
 	private String name;
 	private Type type;
 	private String signature;
@@ -34,7 +35,12 @@ public class ClassScanner extends ClassVisitor {
 	private Type superType;
 	
 	public ClassScanner() {
+		this(ScanLevel.CODE);
+	}
+	
+	public ClassScanner(@NotNull ScanLevel level) {
 		super(Opcodes.ASM9);
+		this.level = level;
 	}
 	
 	//region Static helper methods
@@ -77,7 +83,10 @@ public class ClassScanner extends ClassVisitor {
 	}
 	
 	@Override
-	public @NotNull RecordComponentVisitor visitRecordComponent(@NotNull String name, @NotNull String recordDescriptor, @Nullable String genericSignature) {
+	public @Nullable RecordComponentVisitor visitRecordComponent(@NotNull String name, @NotNull String recordDescriptor, @Nullable String genericSignature) {
+		if (this.level == ScanLevel.HEADER) {
+			return null;
+		}
 		RecordComponent recordComponent = RecordComponent.builder(this.type, name, Type.getType(recordDescriptor)).genericSignature(genericSignature).build();
 		this.recordComponents.put(name, recordComponent);
 		return new RecordComponentVisitor(Opcodes.ASM9) {
@@ -89,7 +98,10 @@ public class ClassScanner extends ClassVisitor {
 	}
 	
 	@Override
-	public @NotNull FieldVisitor visitField(int access, @NotNull String name, @NotNull String fieldDescriptor, @Nullable String genericSignature, @Nullable Object initialValue) {
+	public @Nullable FieldVisitor visitField(int access, @NotNull String name, @NotNull String fieldDescriptor, @Nullable String genericSignature, @Nullable Object initialValue) {
+		if (this.level == ScanLevel.HEADER) {
+			return null;
+		}
 		Field field = Field.of(this.type, name, Type.getType(fieldDescriptor), genericSignature, access);
 		field.getInitialValue().set(initialValue);
 		this.fields.put(name, field);
@@ -103,7 +115,10 @@ public class ClassScanner extends ClassVisitor {
 	}
 	
 	@Override
-	public @NotNull MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String genericSignature, String @Nullable [] exception) {
+	public @Nullable MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String genericSignature, String @Nullable [] exception) {
+		if (this.level == ScanLevel.HEADER) {
+			return null;
+		}
 		Method method = Method.of(this.type, name, Type.getType(descriptor), genericSignature, access);
 		method.getExceptions().addAll(Optional.ofNullable(exception).stream().flatMap(Arrays::stream).map(Type::getObjectType).toList());
 		this.methods.put(method.getSignature(SignatureType.FULL), method);
@@ -0,0 +1,115 @@
+package net.luis.agent.asm.scanner;
+
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static net.luis.agent.asm.Types.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ConstantPoolFilter {
+	
+	public static final String AGENT_ANNOTATIONS = "Lnet/luis/agent/annotation/";
+	public static final ConstantPoolFilter AGENT = new ConstantPoolFilter(List.of(AGENT_ANNOTATIONS, NOT_NULL.getDescriptor(), PATTERN.getDescriptor()));
+	
+	private final byte[][] prefixes;
+	
+	public ConstantPoolFilter(@NotNull Collection<String> prefixes) {
+		this.prefixes = prefixes.stream().map(prefix -> prefix.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+	}
+	
+	//region Static helper methods
+	private static int readUnsignedShort(@NotNull ByteBuffer buffer, int offset) {
+		return ((buffer.get(offset) & 0xFF) << 8) | (buffer.get(offset + 1) & 0xFF);
+	}
+	
+	private static boolean startsWith(@NotNull ByteBuffer buffer, int offset, byte @NotNull [] prefix) {
+		for (int i = 0; i < prefix.length; i++) {
+			if (buffer.get(offset + i) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	//endregion
+	
+	public boolean matches(@NotNull Type type) {
+		return this.matches(ClassFileScanner.readClassBuffer(type));
+	}
+	
+	public boolean matches(byte @NotNull [] bytes) {
+		return this.matches(ByteBuffer.wrap(bytes));
+	}
+	
+	public boolean matches(@NotNull ByteBuffer buffer) {
+		if (buffer.limit() < 10 || readUnsignedShort(buffer, 0) != 0xCAFE || readUnsignedShort(buffer, 2) != 0xBABE) {
+			return true;
+		}
+		try {
+			return this.matchesConstantPool(buffer);
+		} catch (IndexOutOfBoundsException e) {
+			return true;
+		}
+	}
+	
+	public @NotNull Map</*Jar or Directory*/File, List<Type>> filter(@NotNull Map<File, List<Type>> sources, @NotNull Map<File, List<Type>> rejected) {
+		Map<File, List<Type>> accepted = new LinkedHashMap<>();
+		sources.forEach((source, types) -> {
+			List<Type> matching = new ArrayList<>();
+			List<Type> remaining = new ArrayList<>();
+			for (Type type : types) {
+				(this.matches(type) ? matching : remaining).add(type);
+			}
+			accepted.put(source, matching);
+			rejected.put(source, remaining);
+		});
+		return accepted;
+	}
+	
+	//region Helper methods
+	private boolean matchesConstantPool(@NotNull ByteBuffer buffer) {
+		int count = readUnsignedShort(buffer, 8);
+		int offset = 10;
+		for (int i = 1; i < count; i++) {
+			switch (buffer.get(offset)) {
+				case 1 -> {
+					int length = readUnsignedShort(buffer, offset + 1);
+					if (this.matchesPrefix(buffer, offset + 3, length)) {
+						return true;
+					}
+					offset += 3 + length;
+				}
+				case 3, 4, 9, 10, 11, 12, 17, 18 -> offset += 5;
+				case 5, 6 -> {
+					offset += 9;
+					i++;
+				}
+				case 7, 8, 16, 19, 20 -> offset += 3;
+				case 15 -> offset += 4;
+				default -> {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	private boolean matchesPrefix(@NotNull ByteBuffer buffer, int offset, int length) {
+		for (byte[] prefix : this.prefixes) {
+			if (length >= prefix.length && startsWith(buffer, offset, prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	//endregion
+}
@@ -0,0 +1,51 @@
+package net.luis.agent.asm.scanner;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static net.luis.agent.asm.Types.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class DiscoveryScanner extends ClassVisitor {
+	
+	private final Set<Type> annotations = new HashSet<>();
+	private boolean annotation;
+	
+	public DiscoveryScanner() {
+		super(Opcodes.ASM9);
+	}
+	
+	public boolean isDiscoverable() {
+		return this.annotations.contains(INJECT_INTERFACE) || (this.annotation && this.annotations.contains(PATTERN));
+	}
+	
+	@Override
+	public void visit(int version, int access, @NotNull String name, @Nullable String signature, @Nullable String superClass, String @Nullable [] interfaces) {
+		this.annotation = (access & Opcodes.ACC_ANNOTATION) != 0;
+	}
+	
+	@Override
+	public @Nullable AnnotationVisitor visitAnnotation(@NotNull String descriptor, boolean visible) {
+		this.annotations.add(Type.getType(descriptor));
+		return null;
+	}
+	
+	@Override
+	public @Nullable FieldVisitor visitField(int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, @Nullable Object value) {
+		return null;
+	}
+	
+	@Override
+	public @Nullable MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, String @Nullable [] exceptions) {
+		return null;
+	}
+}
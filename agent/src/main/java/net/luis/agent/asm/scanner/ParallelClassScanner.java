@@ -0,0 +1,106 @@
+package net.luis.agent.asm.scanner;
+
+import net.luis.agent.asm.data.Class;
+import net.luis.agent.asm.type.ScanLevel;
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.Type;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ParallelClassScanner {
+	
+	private static final int CHUNK_SIZE = 256;
+	
+	private final Map</*Worker*/String, WorkerStatistics> statistics = new ConcurrentHashMap<>();
+	private final int workers;
+	private final ScanLevel level;
+	
+	public ParallelClassScanner(int workers, @NotNull ScanLevel level) {
+		if (0 >= workers) {
+			throw new IllegalArgumentException("Worker count must be greater than 0, but was " + workers);
+		}
+		this.workers = workers;
+		this.level = level;
+	}
+	
+	public void scan(@NotNull Map</*Jar or Directory*/File, List<Type>> sources, @NotNull BiConsumer<Type, Class> consumer) {
+		List<List<Type>> chunks = new ArrayList<>();
+		for (List<Type> types : sources.values()) {
+			for (int i = 0; i < types.size(); i += CHUNK_SIZE) {
+				chunks.add(types.subList(i, Math.min(i + CHUNK_SIZE, types.size())));
+			}
+		}
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(this.workers);
+		try {
+			pool.invoke(new ScanTask(chunks, 0, chunks.size(), consumer));
+		} finally {
+			pool.shutdown();
+		}
+		this.printStatistics(sources.size(), System.nanoTime() - start);
+	}
+	
+	private void scanChunk(@NotNull List<Type> chunk, @NotNull BiConsumer<Type, Class> consumer) {
+		long start = System.nanoTime();
+		for (Type type : chunk) {
+			consumer.accept(type, ClassFileScanner.scanClass(type, this.level));
+		}
+		WorkerStatistics statistics = this.statistics.computeIfAbsent(Thread.currentThread().getName(), name -> new WorkerStatistics());
+		statistics.classes += chunk.size();
+		statistics.nanos += System.nanoTime() - start;
+	}
+	
+	private void printStatistics(int sources, long nanos) {
+		int classes = this.statistics.values().stream().mapToInt(statistics -> statistics.classes).sum();
+		System.out.println("Scanned " + classes + " classes from " + sources + " sources in " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms using " + this.workers + " workers");
+		this.statistics.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+			WorkerStatistics statistics = entry.getValue();
+			long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(statistics.nanos));
+			System.out.println("  " + entry.getKey() + ": " + statistics.classes + " classes in " + millis + "ms (" + (statistics.classes * 1000L / millis) + " classes/s)");
+		});
+	}
+	
+	//region Internal
+	private static class WorkerStatistics {
+		
+		private int classes;
+		private long nanos;
+	}
+	
+	private class ScanTask extends RecursiveAction {
+		
+		private final List<List<Type>> chunks;
+		private final int start;
+		private final int end;
+		private final BiConsumer<Type, Class> consumer;
+		
+		private ScanTask(@NotNull List<List<Type>> chunks, int start, int end, @NotNull BiConsumer<Type, Class> consumer) {
+			this.chunks = chunks;
+			this.start = start;
+			this.end = end;
+			this.consumer = consumer;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= 1) {
+				if (this.start < this.end) {
+					ParallelClassScanner.this.scanChunk(this.chunks.get(this.start), this.consumer);
+				}
+				return;
+			}
+			int middle = (this.start + this.end) >>> 1;
+			invokeAll(new ScanTask(this.chunks, this.start, middle, this.consumer), new ScanTask(this.chunks, middle, this.end, this.consumer));
+		}
+	}
+	//endregion
+}
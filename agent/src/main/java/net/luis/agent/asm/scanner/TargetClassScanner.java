@@ -14,8 +14,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
@@ -28,114 +27,199 @@ import static net.luis.agent.asm.Types.*;
 
 public class TargetClassScanner extends ClassVisitor {
 	
-	private final Method method;
-	private final Annotation target;
-	private final TargetMode mode;
-	private final int offset;
-	private final int visited;
-	private TargetMethodScanner visitor;
+	private static final String MISSING_INFORMATION = "Missing Debug Information";
+	private static final String NOT_FOUND = "Not Found";
 	
-	public TargetClassScanner(@NotNull Method method, @NotNull Annotation target) {
-		this(method, target, 0);
-	}
+	private final List<Target> targets = new ArrayList<>();
+	private final Map</*Method Signature*/String, List<Frame>> pending = new HashMap<>();
 	
-	private TargetClassScanner(@NotNull Method method, @NotNull Annotation target, int visited) {
+	public TargetClassScanner() {
 		super(Opcodes.ASM9);
-		this.method = method;
-		this.target = target;
-		this.mode = TargetMode.valueOf(target.getOrDefault("mode"));
-		this.offset = target.getOrDefault("offset");
-		this.visited = visited;
 	}
 	
-	public boolean visitedTarget() {
-		return this.visitor != null;
+	public @NotNull Target addTarget(@NotNull Method method, @NotNull Annotation target) {
+		Target result = new Target(method, target);
+		result.frames.add(new Frame(result, method, null, 0));
+		this.targets.add(result);
+		return result;
 	}
 	
-	public int getTargetLine() {
-		if (this.visitor == null) {
-			return -1;
-		}
-		int line = this.visitor.getTargetLine();
-		if (line == -1) {
-			return -1;
-		}
-		line += this.offset;
-		if (this.mode == TargetMode.AFTER) {
-			line++;
-		}
-		int firstLine = this.visitor.getFirstLine();
-		int lastLine = this.visitor.getLastLine();
-		if (firstLine > line) {
-			return firstLine;
-		} else if (line > lastLine) {
-			return lastLine;
-		}
-		return line;
+	public void scan(byte @NotNull [] bytes) {
+		// All targets are resolved in a single pass over the class, targets inside lambda expressions require one more pass per nesting level
+		// All lambdas of a nesting level are scanned in the same pass, since each of them starts counting from the ordinal state of its enclosing method
+		while (this.prepare()) {
+			ClassFileScanner.scanClass(bytes, this);
+			for (List<Frame> frames : this.pending.values()) {
+				for (Frame frame : frames) {
+					if (frame.parent != null) {
+						throw CrashReport.create("Unable to find lambda target method in class during recursive search", NOT_FOUND).addDetail("Method", frame.parent.getSignature(SignatureType.DEBUG))
+							.addDetail("Lambda Method", frame.method.getSignature(SignatureType.DEBUG)).addDetail("Target Value", frame.target.value).addDetail("Ordinal", frame.target.ordinal).exception();
+					}
+					frame.scanned = true;
+				}
+			}
+			this.targets.forEach(Target::resolve);
+		}
 	}
 	
-	public @Nullable Method getLambdaMethod() {
-		return this.visitor == null ? null : this.visitor.getLambdaMethod();
+	private boolean prepare() {
+		this.pending.clear();
+		for (Target target : this.targets) {
+			for (Frame frame : target.frames) {
+				if (!frame.scanned) {
+					this.pending.computeIfAbsent(frame.method.getSignature(SignatureType.FULL), signature -> new ArrayList<>()).add(frame);
+				}
+			}
+		}
+		return !this.pending.isEmpty();
 	}
 	
 	@Override
 	public @NotNull MethodVisitor visitMethod(int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, String @Nullable [] exceptions) {
-		if (this.method.getSignature(SignatureType.FULL).equals(name + descriptor)) {
-			this.visitor = new TargetMethodScanner(this.method, this.target, this.visited);
-			return this.visitor;
+		List<Frame> frames = this.pending.remove(name + descriptor);
+		if (frames != null) {
+			frames.stream().filter(frame -> frame.parent == null).forEach(frame -> frame.target.visited = true);
+			return new TargetMethodScanner(frames.getFirst().method, frames);
 		}
 		return super.visitMethod(access, name, descriptor, signature, exceptions);
 	}
 	
-	private static class TargetMethodScanner extends LabelTrackingMethodVisitor {
-		
-		private static final String MISSING_INFORMATION = "Missing Debug Information";
-		private static final String NOT_FOUND = "Not Found";
+	public static class Target {
 		
-		private final List<Method> recursive = new ArrayList<>();
+		private final List<Frame> frames = new ArrayList<>();
 		private final Method method;
-		private final Annotation target;
+		private final Annotation annotation;
 		private final String value;
 		private final TargetType type;
+		private final TargetMode mode;
 		private final int ordinal;
+		private final int offset;
+		private boolean visited;
 		private int targetLine = -1;
-		private Method lambdaMethod;
-		private int lastOpcode = -1;
 		private int firstLine = -1;
-		private int currentLine;
-		private int visited;
+		private int lastLine = -1;
+		private Method lambdaMethod;
 		
-		private TargetMethodScanner(@NotNull Method method, @NotNull Annotation target, int visited) {
+		private Target(@NotNull Method method, @NotNull Annotation annotation) {
 			this.method = method;
+			this.annotation = annotation;
+			this.value = annotation.getOrDefault("value");
+			this.type = TargetType.valueOf(annotation.get("type"));
+			this.mode = TargetMode.valueOf(annotation.getOrDefault("mode"));
+			this.ordinal = annotation.getOrDefault("ordinal");
+			this.offset = annotation.getOrDefault("offset");
+		}
+		
+		public @NotNull Method getMethod() {
+			return this.method;
+		}
+		
+		public @NotNull Annotation getAnnotation() {
+			return this.annotation;
+		}
+		
+		public boolean visitedTarget() {
+			return this.visited;
+		}
+		
+		public int getTargetLine() {
+			if (this.targetLine == -1) {
+				return -1;
+			}
+			int line = this.targetLine + this.offset;
+			if (this.mode == TargetMode.AFTER) {
+				line++;
+			}
+			if (this.firstLine > line) {
+				return this.firstLine;
+			} else if (line > this.lastLine) {
+				return this.lastLine;
+			}
+			return line;
+		}
+		
+		public @Nullable Method getLambdaMethod() {
+			return this.lambdaMethod;
+		}
+		
+		private void resolve() {
+			// Lambdas are searched depth first and in the order they appear in the method, a lambda only wins if all lambdas before it do not contain the target
+			while (!this.frames.isEmpty()) {
+				Frame frame = this.frames.getFirst();
+				if (!frame.scanned) {
+					return;
+				}
+				if (frame.targetLine != -1) {
+					this.targetLine = frame.targetLine;
+					this.firstLine = frame.firstLine;
+					this.lastLine = frame.lastLine;
+					this.lambdaMethod = frame.parent == null ? null : frame.method;
+					this.frames.clear();
+					return;
+				}
+				this.frames.removeFirst();
+				this.frames.addAll(0, frame.children);
+			}
+		}
+	}
+	
+	private static class Frame {
+		
+		private final List<Frame> children = new ArrayList<>();
+		private final Target target;
+		private final Method method;
+		private final Method parent;
+		private boolean scanned;
+		private int visited;
+		private int targetLine = -1;
+		private int firstLine = -1;
+		private int lastLine = -1;
+		
+		private Frame(@NotNull Target target, @NotNull Method method, @Nullable Method parent, int visited) {
 			this.target = target;
-			this.value = target.getOrDefault("value");
-			this.type = TargetType.valueOf(target.get("type"));
-			this.ordinal = target.getOrDefault("ordinal");
+			this.method = method;
+			this.parent = parent;
 			this.visited = visited;
 		}
 		
-		private void target() {
-			if (this.visited == this.ordinal && this.targetLine == -1) {
-				this.targetLine = this.currentLine;
+		private void target(int line) {
+			if (this.visited == this.target.ordinal && this.targetLine == -1) {
+				this.targetLine = line;
 			} else {
 				this.visited++;
 			}
 		}
 		
-		public int getFirstLine() {
-			return this.firstLine;
+		private void complete(int firstLine, int lastLine, @NotNull List<Method> recursive) {
+			this.scanned = true;
+			this.firstLine = firstLine;
+			this.lastLine = lastLine;
+			if (this.targetLine == -1) {
+				// The ordinal is counted from the end of the enclosing method
+				recursive.forEach(method -> this.children.add(new Frame(this.target, method, this.method, this.visited)));
+			}
 		}
 		
-		public int getLastLine() {
-			return this.currentLine;
+		private @NotNull ReportedException exception(@NotNull CrashReport report) {
+			if (this.parent != null) {
+				report.addDetailFirst("Root Method", this.target.method.getSignature(SignatureType.DEBUG));
+			}
+			return report.exception();
 		}
+	}
+	
+	private static class TargetMethodScanner extends LabelTrackingMethodVisitor {
 		
-		public int getTargetLine() {
-			return this.targetLine;
-		}
+		private final List<Method> recursive = new ArrayList<>();
+		private final Method method;
+		private final List<Frame> frames;
+		private int lastOpcode = -1;
+		private int firstLine = -1;
+		private int currentLine;
 		
-		public @Nullable Method getLambdaMethod() {
-			return this.lambdaMethod;
+		private TargetMethodScanner(@NotNull Method method, @NotNull List<Frame> frames) {
+			this.method = method;
+			this.frames = frames;
 		}
 		
 		@Override
@@ -144,8 +228,10 @@ public class TargetClassScanner extends ClassVisitor {
 			if (this.firstLine == -1) {
 				this.firstLine = line;
 			}
-			if (this.type == TargetType.HEAD && this.targetLine == -1) {
-				this.targetLine = this.currentLine;
+			for (Frame frame : this.frames) {
+				if (frame.target.type == TargetType.HEAD && frame.targetLine == -1) {
+					frame.targetLine = this.currentLine;
+				}
 			}
 		}
 		
@@ -153,26 +239,25 @@ public class TargetClassScanner extends ClassVisitor {
 		// INVOKE -> INVOKESPECIAL, INVOKESTATIC, INVOKEVIRTUAL, INVOKEINTERFACE
 		@Override
 		public void visitMethodInsn(int opcode, @NotNull String owner, @NotNull String name, @NotNull String descriptor, boolean isInterface) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = opcode;
-			if (opcode == Opcodes.INVOKESPECIAL && "<init>".equals(name)) {
-				if (ASMUtils.matchesTarget(this.value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
-					this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1) {
+					continue;
+				}
+				if (opcode == Opcodes.INVOKESPECIAL && "<init>".equals(name)) {
+					if (ASMUtils.matchesTarget(frame.target.value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
+						frame.target(this.currentLine);
+					}
+				}
+				if (frame.target.type == TargetType.INVOKE && ASMUtils.matchesTarget(frame.target.value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
+					frame.target(this.currentLine);
 				}
-			}
-			if (this.type == TargetType.INVOKE && ASMUtils.matchesTarget(this.value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
-				this.target();
 			}
 		}
 		
 		// CONSTANT
 		@Override
 		public void visitInvokeDynamicInsn(@NotNull String name, @NotNull String descriptor, @NotNull Handle handle, Object... arguments) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = Opcodes.INVOKEDYNAMIC;
 			if (METAFACTORY_HANDLE.equals(handle)) {
 				for (Object argument : arguments) {
@@ -187,15 +272,17 @@ public class TargetClassScanner extends ClassVisitor {
 					}
 				}
 			}
-			if (this.type != TargetType.STRING) {
-				return;
-			}
-			for (Object argument : arguments) {
-				if (argument instanceof String str) {
-					String[] parts = str.split("\\u0001");
-					for (String part : parts) {
-						if (this.value.equals(part)) {
-							this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1 || frame.target.type != TargetType.STRING) {
+					continue;
+				}
+				for (Object argument : arguments) {
+					if (argument instanceof String str) {
+						String[] parts = str.split("\\u0001");
+						for (String part : parts) {
+							if (frame.target.value.equals(part)) {
+								frame.target(this.currentLine);
+							}
 						}
 					}
 				}
@@ -206,21 +293,23 @@ public class TargetClassScanner extends ClassVisitor {
 		// ASSIGN -> PUTSTATIC, PUTFIELD
 		@Override
 		public void visitFieldInsn(int opcode, @NotNull String owner, @NotNull String name, @NotNull String descriptor) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = opcode;
-			String value = this.value;
-			if (value.startsWith("#")) {
-				value = value.substring(1);
-			}
-			if (this.type == TargetType.ACCESS && (opcode == Opcodes.GETSTATIC || opcode == Opcodes.GETFIELD)) {
-				if (ASMUtils.matchesTarget(value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
-					this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1) {
+					continue;
 				}
-			} else if (this.type == TargetType.ASSIGN && (opcode == Opcodes.PUTSTATIC || opcode == Opcodes.PUTFIELD)) {
-				if (ASMUtils.matchesTarget(value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
-					this.target();
+				String value = frame.target.value;
+				if (value.startsWith("#")) {
+					value = value.substring(1);
+				}
+				if (frame.target.type == TargetType.ACCESS && (opcode == Opcodes.GETSTATIC || opcode == Opcodes.GETFIELD)) {
+					if (ASMUtils.matchesTarget(value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
+						frame.target(this.currentLine);
+					}
+				} else if (frame.target.type == TargetType.ASSIGN && (opcode == Opcodes.PUTSTATIC || opcode == Opcodes.PUTFIELD)) {
+					if (ASMUtils.matchesTarget(value, Type.getObjectType(owner), name, Type.getType(descriptor))) {
+						frame.target(this.currentLine);
+					}
 				}
 			}
 		}
@@ -229,15 +318,15 @@ public class TargetClassScanner extends ClassVisitor {
 		// ASSIGN -> ISTORE, LSTORE, FSTORE, DSTORE, ASTORE
 		@Override
 		public void visitVarInsn(int opcode, int index) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = opcode;
-			if (!this.value.contains("#")) {
-				if (this.type == TargetType.ACCESS && isLoad(opcode)) {
-					this.checkVariableIndex(index);
-				} else if (this.type == TargetType.ASSIGN && isStore(opcode)) {
-					this.checkVariableIndex(index);
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1 || frame.target.value.contains("#")) {
+					continue;
+				}
+				if (frame.target.type == TargetType.ACCESS && isLoad(opcode)) {
+					this.checkVariableIndex(frame, index);
+				} else if (frame.target.type == TargetType.ASSIGN && isStore(opcode)) {
+					this.checkVariableIndex(frame, index);
 				}
 			}
 		}
@@ -249,19 +338,22 @@ public class TargetClassScanner extends ClassVisitor {
 		// ASSIGN_ARRAY -> IASTORE, LASTORE, FASTORE, DASTORE, AASTORE, BASTORE, CASTORE, SASTORE
 		@Override
 		public void visitInsn(int opcode) {
-			if (this.targetLine != -1) {
-				return;
-			}
-			if (this.type == TargetType.CONSTANT && isConstant(opcode, this.value)) {
-				this.target();
-			} else if (this.type == TargetType.RETURN && isReturn(opcode)) {
-				this.target();
-			} else if (this.type == TargetType.NUMERIC_OPERAND && isNumericOperand(opcode, this.lastOpcode, this.value)) {
-				this.target();
-			} else if (this.type == TargetType.ACCESS_ARRAY && isArrayLoad(opcode)) {
-				this.target();
-			} else if (this.type == TargetType.ASSIGN_ARRAY && isArrayStore(opcode)) {
-				this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1) {
+					continue;
+				}
+				TargetType type = frame.target.type;
+				if (type == TargetType.CONSTANT && isConstant(opcode, frame.target.value)) {
+					frame.target(this.currentLine);
+				} else if (type == TargetType.RETURN && isReturn(opcode)) {
+					frame.target(this.currentLine);
+				} else if (type == TargetType.NUMERIC_OPERAND && isNumericOperand(opcode, this.lastOpcode, frame.target.value)) {
+					frame.target(this.currentLine);
+				} else if (type == TargetType.ACCESS_ARRAY && isArrayLoad(opcode)) {
+					frame.target(this.currentLine);
+				} else if (type == TargetType.ASSIGN_ARRAY && isArrayStore(opcode)) {
+					frame.target(this.currentLine);
+				}
 			}
 			this.lastOpcode = opcode;
 		}
@@ -270,30 +362,34 @@ public class TargetClassScanner extends ClassVisitor {
 		// NEW -> NEWARRAY
 		@Override
 		public void visitIntInsn(int opcode, int operand) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = opcode;
-			if (this.type == TargetType.CONSTANT && (opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH)) {
-				if (this.isNumber(operand, this.value)) {
-					this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1) {
+					continue;
+				}
+				if (frame.target.type == TargetType.CONSTANT && (opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH)) {
+					if (this.isNumber(operand, frame.target.value)) {
+						frame.target(this.currentLine);
+					}
+				} else if (frame.target.type == TargetType.NEW && opcode == Opcodes.NEWARRAY && frame.target.value.equalsIgnoreCase(this.arrayOpcodeToString(operand))) {
+					frame.target(this.currentLine);
 				}
-			} else if (this.type == TargetType.NEW && opcode == Opcodes.NEWARRAY && this.value.equalsIgnoreCase(this.arrayOpcodeToString(operand))) {
-				this.target();
 			}
 		}
 		
 		// CONSTANT
 		@Override
 		public void visitLdcInsn(@NotNull Object value) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = Opcodes.LDC;
-			if (this.type == TargetType.CONSTANT && value instanceof Number number && this.isNumber(number, this.value)) {
-				this.target();
-			} else if (this.type == TargetType.STRING && value instanceof String str && this.value.equals(str)) {
-				this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1) {
+					continue;
+				}
+				if (frame.target.type == TargetType.CONSTANT && value instanceof Number number && this.isNumber(number, frame.target.value)) {
+					frame.target(this.currentLine);
+				} else if (frame.target.type == TargetType.STRING && value instanceof String str && frame.target.value.equals(str)) {
+					frame.target(this.currentLine);
+				}
 			}
 		}
 		
@@ -301,42 +397,42 @@ public class TargetClassScanner extends ClassVisitor {
 		// COMPARE -> INSTANCEOF
 		@Override
 		public void visitTypeInsn(int opcode, @NotNull String type) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = opcode;
-			if (this.type == TargetType.NEW) {
-				Type objectType = Type.getObjectType(type);
-				if (opcode == Opcodes.NEW && isSameType(objectType, this.value)) {
-					this.target();
-				} else if (opcode == Opcodes.ANEWARRAY && isSameType(Type.getType("[" + objectType.getDescriptor()), this.value)) {
-					this.target();
-				}
-			} else if (this.type == TargetType.COMPARE && opcode == Opcodes.INSTANCEOF) {
-				this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine != -1) {
+					continue;
+				}
+				if (frame.target.type == TargetType.NEW) {
+					Type objectType = Type.getObjectType(type);
+					if (opcode == Opcodes.NEW && isSameType(objectType, frame.target.value)) {
+						frame.target(this.currentLine);
+					} else if (opcode == Opcodes.ANEWARRAY && isSameType(Type.getType("[" + objectType.getDescriptor()), frame.target.value)) {
+						frame.target(this.currentLine);
+					}
+				} else if (frame.target.type == TargetType.COMPARE && opcode == Opcodes.INSTANCEOF) {
+					frame.target(this.currentLine);
+				}
 			}
 		}
 		
 		// NEW -> MULTIANEWARRAY
 		@Override
 		public void visitMultiANewArrayInsn(@NotNull String descriptor, int numDimensions) {
-			if (this.targetLine != -1) {
-				return;
-			}
 			this.lastOpcode = Opcodes.MULTIANEWARRAY;
-			if (this.type == TargetType.NEW && isSameType(Type.getType(descriptor), this.value)) {
-				this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine == -1 && frame.target.type == TargetType.NEW && isSameType(Type.getType(descriptor), frame.target.value)) {
+					frame.target(this.currentLine);
+				}
 			}
 		}
 		
 		// COMPARE -> IF_ICMPEQ, IF_ICMPNE, IF_ICMPLT, IF_ICMPGE, IF_ICMPGT, IF_ICMPLE, IF_ACMPEQ, IF_ACMPNE, IFNULL, IFNONNULL, IFEQ, IFNE, IFLT, IFGE, IFGT, IFLE
 		@Override
 		public void visitJumpInsn(int opcode, @NotNull Label label) {
-			if (this.targetLine != -1) {
-				return;
-			}
-			if (this.type == TargetType.COMPARE && isCompare(this.value, opcode)) {
-				this.target();
+			for (Frame frame : this.frames) {
+				if (frame.targetLine == -1 && frame.target.type == TargetType.COMPARE && isCompare(frame.target.value, opcode)) {
+					frame.target(this.currentLine);
+				}
 			}
 			this.lastOpcode = opcode;
 		}
@@ -344,71 +440,48 @@ public class TargetClassScanner extends ClassVisitor {
 		@Override
 		public void visitEnd() {
 			super.visitEnd();
-			if (this.targetLine != -1) {
-				return;
-			}
-			for (Method method : this.recursive) {
-				TargetClassScanner scanner = new TargetClassScanner(method, this.target, this.visited);
-				try {
-					ClassFileScanner.scanClass(method.getOwner(), scanner);
-				} catch (ReportedException e) {
-					throw e.getReport().addDetailFirst("Root Method", this.method.getSignature(SignatureType.DEBUG)).exception();
-				}
-				if (!scanner.visitedTarget()) {
-					throw CrashReport.create("Unable to find lambda target method in class during recursive search", NOT_FOUND).addDetail("Method", this.method.getSignature(SignatureType.DEBUG))
-						.addDetail("Lambda Method", method.getSignature(SignatureType.DEBUG)).addDetail("Target Value", this.value).addDetail("Ordinal", this.ordinal).exception();
-				}
-				int line = scanner.visitor == null ? -1 : scanner.visitor.getTargetLine();
-				if (line != -1) {
-					this.targetLine = line;
-					if (scanner.getLambdaMethod() == null) {
-						this.lambdaMethod = method;
-					} else {
-						this.lambdaMethod = scanner.getLambdaMethod();
-					}
-					this.firstLine = scanner.visitor.getFirstLine();
-					this.currentLine = scanner.visitor.getLastLine();
-					break;
-				}
+			for (Frame frame : this.frames) {
+				frame.complete(this.firstLine, this.currentLine, this.recursive);
 			}
 		}
 		
 		//region Helper methods
-		private void checkVariableIndex(int index) {
-			if (this.value.chars().allMatch(Character::isDigit)) {
-				if (index == Integer.parseInt(this.value)) {
-					this.target();
+		private void checkVariableIndex(@NotNull Frame frame, int index) {
+			String value = frame.target.value;
+			if (value.chars().allMatch(Character::isDigit)) {
+				if (index == Integer.parseInt(value)) {
+					frame.target(this.currentLine);
 				}
 			} else if (this.method.isLocal(index)) {
 				if (this.method.getLocals().isEmpty()) {
-					throw CrashReport.create("Unable to find local variable by name, because the local variable name was not included into the class file during compilation", MISSING_INFORMATION)
-						.addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).exception();
+					throw frame.exception(CrashReport.create("Unable to find local variable by name, because the local variable name was not included into the class file during compilation", MISSING_INFORMATION)
+						.addDetail("Method", this.method.getSignature(SignatureType.DEBUG)));
 				}
 				List<LocalVariable> locals = this.method.getLocals(index);
 				if (locals.isEmpty()) {
-					throw CrashReport.create("Local variable not found", NOT_FOUND).addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).addDetail("Target Value", this.value).addDetail("Ordinal", this.ordinal)
-						.addDetail("Local Variable Index", index).addDetail("Local Variables", this.method.getLocals().stream().map(LocalVariable::toString).toList()).exception();
+					throw frame.exception(CrashReport.create("Local variable not found", NOT_FOUND).addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).addDetail("Target Value", value).addDetail("Ordinal", frame.target.ordinal)
+						.addDetail("Local Variable Index", index).addDetail("Local Variables", this.method.getLocals().stream().map(LocalVariable::toString).toList()));
 				}
 				LocalVariable local = locals.stream().filter(l -> l.isInScope(this.getScopeIndex())).findFirst().orElse(null);
 				if (local == null) {
 					return;
 				}
-				if (local.getName().equals(this.value)) {
-					this.target();
+				if (local.getName().equals(value)) {
+					frame.target(this.currentLine);
 				}
 			} else {
 				Parameter parameter = this.method.getParameters().get(this.method.is(TypeModifier.STATIC) ? index : index - 1);
 				if (parameter == null) {
-					throw CrashReport.create("Parameter not found", NOT_FOUND).addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).addDetail("Target Value", this.value).addDetail("Ordinal", this.ordinal)
-						.addDetail("Parameter Index", index).addDetail("Parameter Indexes", this.method.getParameters().values().stream().map(Parameter::getIndex).toList()).exception();
+					throw frame.exception(CrashReport.create("Parameter not found", NOT_FOUND).addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).addDetail("Target Value", value).addDetail("Ordinal", frame.target.ordinal)
+						.addDetail("Parameter Index", index).addDetail("Parameter Indexes", this.method.getParameters().values().stream().map(Parameter::getIndex).toList()));
 				}
 				if (!parameter.isNamed()) {
-					throw CrashReport.create("Unable to find parameter by name, because the parameter names were not included into the class file during compilation", MISSING_INFORMATION)
-						.addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).addDetail("Target Parameter Name", this.value).addDetail("Parameter Index", parameter.getIndex()).addDetail("Parameter Type", parameter.getType())
-						.addDetail("Parameter Name (Generated)", parameter.getName()).exception();
+					throw frame.exception(CrashReport.create("Unable to find parameter by name, because the parameter names were not included into the class file during compilation", MISSING_INFORMATION)
+						.addDetail("Method", this.method.getSignature(SignatureType.DEBUG)).addDetail("Target Parameter Name", value).addDetail("Parameter Index", parameter.getIndex()).addDetail("Parameter Type", parameter.getType())
+						.addDetail("Parameter Name (Generated)", parameter.getName()));
 				}
-				if (parameter.getName().equals(this.value)) {
-					this.target();
+				if (parameter.getName().equals(value)) {
+					frame.target(this.currentLine);
 				}
 			}
 		}
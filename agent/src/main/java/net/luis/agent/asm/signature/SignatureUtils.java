@@ -90,6 +90,10 @@ public class SignatureUtils {
 		}
 		return ActualType.of(type, nested);
 	}
+	
+	public static @NotNull ActualType getActualType(@NotNull String classSignature, @NotNull String methodSignature, int index) {
+		return parseSignatureParameters(parseGenericDeclarations(classSignature), methodSignature).get(index);
+	}
 	//endregion
 	
 	//region Parsing generic declaration
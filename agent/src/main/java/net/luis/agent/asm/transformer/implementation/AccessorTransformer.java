@@ -4,6 +4,7 @@ import net.luis.agent.Agent;
 import net.luis.agent.asm.Instrumentations;
 import net.luis.agent.asm.base.BaseClassTransformer;
 import net.luis.agent.asm.base.ContextBasedClassVisitor;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
@@ -19,18 +20,23 @@ import static net.luis.agent.asm.Types.*;
 
 public class AccessorTransformer extends BaseClassTransformer {
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	//region Type filtering
 	@Override
 	protected boolean shouldIgnoreClass(@NotNull Type type) {
 		return !this.lookup.containsKey(type.getInternalName());
 	}
+	
+	@Override
+	protected boolean isCacheable() {
+		return false;
+	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new AccessorVisitor(writer, type, () -> this.modified = true, this.lookup);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new AccessorVisitor(visitor, type, context::markModified, this.lookup);
 	}
 	
 	private static class AccessorVisitor extends ContextBasedClassVisitor {
@@ -39,8 +45,8 @@ public class AccessorTransformer extends BaseClassTransformer {
 		
 		private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup;
 		
-		private AccessorVisitor(@NotNull ClassWriter writer, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
-			super(writer, type, markModified);
+		private AccessorVisitor(@NotNull ClassVisitor visitor, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
+			super(visitor, type, markModified);
 			this.lookup = lookup;
 		}
 		
@@ -166,7 +172,7 @@ public class AccessorTransformer extends BaseClassTransformer {
 		}
 		
 		private void updateClass(@NotNull Method ifaceMethod, @NotNull Type target) {
-			Agent.getClass(target).getMethods().put(ifaceMethod.getSignature(SignatureType.FULL), Method.builder(ifaceMethod).modifiers(EnumSet.of(TypeModifier.ABSTRACT)).build());
+			Agent.getClass(target).addMethod(Method.builder(ifaceMethod).modifiers(EnumSet.of(TypeModifier.ABSTRACT)).build());
 		}
 		//endregion
 	}
@@ -4,6 +4,7 @@ import net.luis.agent.Agent;
 import net.luis.agent.asm.Instrumentations;
 import net.luis.agent.asm.base.BaseClassTransformer;
 import net.luis.agent.asm.base.ContextBasedClassVisitor;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
@@ -19,18 +20,23 @@ import static net.luis.agent.asm.Types.*;
 
 public class AssignorTransformer extends BaseClassTransformer {
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	//region Type filtering
 	@Override
 	protected boolean shouldIgnoreClass(@NotNull Type type) {
 		return !this.lookup.containsKey(type.getInternalName());
 	}
+	
+	@Override
+	protected boolean isCacheable() {
+		return false;
+	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new AssignorVisitor(writer, type, () -> this.modified = true, this.lookup);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new AssignorVisitor(visitor, type, context::markModified, this.lookup);
 	}
 	
 	private static class AssignorVisitor extends ContextBasedClassVisitor {
@@ -40,8 +46,8 @@ public class AssignorTransformer extends BaseClassTransformer {
 		private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup;
 		private final List<String> unfinal = new ArrayList<>();
 		
-		private AssignorVisitor(@NotNull ClassWriter writer, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
-			super(writer, type, markModified);
+		private AssignorVisitor(@NotNull ClassVisitor visitor, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
+			super(visitor, type, markModified);
 			this.lookup = lookup;
 		}
 		
@@ -182,8 +188,9 @@ public class AssignorTransformer extends BaseClassTransformer {
 		}
 		
 		private void updateClass(@NotNull Method ifaceMethod, @NotNull Type target, @NotNull Field targetField) {
-			Agent.getClass(target).getMethods().put(ifaceMethod.getSignature(SignatureType.FULL), Method.builder(ifaceMethod).modifiers(EnumSet.noneOf(TypeModifier.class)).build());
-			targetField.getModifiers().remove(TypeModifier.FINAL);
+			Class targetClass = Agent.getClass(target);
+			targetClass.addMethod(Method.builder(ifaceMethod).modifiers(EnumSet.noneOf(TypeModifier.class)).build());
+			targetClass.addField(Field.builder(targetField).removeModifier(TypeModifier.FINAL).build());
 		}
 		//endregion
 	}
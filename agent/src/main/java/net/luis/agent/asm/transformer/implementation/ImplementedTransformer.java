@@ -3,6 +3,7 @@ package net.luis.agent.asm.transformer.implementation;
 import net.luis.agent.Agent;
 import net.luis.agent.asm.base.BaseClassTransformer;
 import net.luis.agent.asm.base.ContextBasedClassVisitor;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
@@ -18,7 +19,7 @@ import static net.luis.agent.asm.Types.*;
 
 public class ImplementedTransformer extends BaseClassTransformer {
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	//region Type filtering
 	@Override
@@ -28,8 +29,8 @@ public class ImplementedTransformer extends BaseClassTransformer {
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new ImplementedVisitor(writer, type, () -> this.modified = true, this.lookup);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new ImplementedVisitor(visitor, type, context::markModified, this.lookup);
 	}
 	
 	private static class ImplementedVisitor extends ContextBasedClassVisitor {
@@ -38,8 +39,8 @@ public class ImplementedTransformer extends BaseClassTransformer {
 		
 		private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup;
 		
-		private ImplementedVisitor(@NotNull ClassWriter writer, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
-			super(writer, type, markModified);
+		private ImplementedVisitor(@NotNull ClassVisitor visitor, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
+			super(visitor, type, markModified);
 			this.lookup = lookup;
 		}
 		
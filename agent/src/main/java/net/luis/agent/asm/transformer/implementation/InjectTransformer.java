@@ -6,7 +6,6 @@ import net.luis.agent.asm.base.*;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
-import net.luis.agent.asm.scanner.ClassFileScanner;
 import net.luis.agent.asm.scanner.TargetClassScanner;
 import net.luis.agent.asm.type.*;
 import net.luis.agent.util.Utils;
@@ -30,7 +29,7 @@ public class InjectTransformer extends BaseClassTransformer {
 	
 	private static final String IMPLEMENTATION_ERROR = "Inject Implementation Error";
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	public InjectTransformer() {
 		super(true);
@@ -41,21 +40,28 @@ public class InjectTransformer extends BaseClassTransformer {
 	protected boolean shouldIgnoreClass(@NotNull Type type) {
 		return !this.lookup.containsKey(type.getInternalName());
 	}
+	
+	@Override
+	protected boolean isCacheable() {
+		return false;
+	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new InjectClassVisitor(writer, type, () -> this.modified = true, this.lookup);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new InjectClassVisitor(visitor, type, context.getBuffer(), context::markModified, this.lookup);
 	}
 	
 	private static class InjectClassVisitor extends ContextBasedClassVisitor {
 		
 		private final Map</*Method Signature*/String, List<InjectData>> injects = new HashMap<>();
 		private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup;
+		private final byte[] buffer;
 		
-		private InjectClassVisitor(@NotNull ClassWriter writer, @NotNull Type type, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
-			super(writer, type, markModified);
+		private InjectClassVisitor(@NotNull ClassVisitor visitor, @NotNull Type type, byte @NotNull [] buffer, @NotNull Runnable markModified, @NotNull Map<String, List<String>> lookup) {
+			super(visitor, type, markModified);
 			this.lookup = lookup;
+			this.buffer = buffer;
 		}
 		
 		private static @NotNull CrashReport createReport(@NotNull String message, @NotNull Type iface, @NotNull String methodSignature) {
@@ -67,11 +73,13 @@ public class InjectTransformer extends BaseClassTransformer {
 			super.visit(version, access, name, signature, superClass, interfaces);
 			if (this.lookup.containsKey(name)) {
 				Class targetClass = Agent.getClass(Type.getObjectType(name));
+				TargetClassScanner scanner = new TargetClassScanner();
+				Map<TargetClassScanner.Target, /*Interface Method*/Method> targets = new LinkedHashMap<>();
 				for (Type iface : this.lookup.get(name).stream().map(Type::getObjectType).toList()) {
 					Class ifaceClass = Agent.getClass(iface);
 					for (Method method : ifaceClass.getMethods().values()) {
 						if (method.isAnnotatedWith(INJECT)) {
-							this.validateMethod(method, targetClass);
+							targets.put(this.validateMethod(method, targetClass, scanner), method);
 						} else if (method.is(TypeAccess.PUBLIC)) {
 							if (method.getAnnotations().isEmpty()) {
 								throw createReport("Found method without annotation, does not know how to implement", iface, method.getSignature(SignatureType.DEBUG)).exception();
@@ -81,10 +89,13 @@ public class InjectTransformer extends BaseClassTransformer {
 						}
 					}
 				}
+				// All targets of the class are resolved together in a single pass over the class file which is currently transformed
+				scanner.scan(this.buffer);
+				targets.forEach((result, method) -> this.addInject(method, targetClass, result));
 			}
 		}
 		
-		private void validateMethod(@NotNull Method ifaceMethod, @NotNull Class targetClass) {
+		private @NotNull TargetClassScanner.Target validateMethod(@NotNull Method ifaceMethod, @NotNull Class targetClass, @NotNull TargetClassScanner scanner) {
 			String signature = ifaceMethod.getSignature(SignatureType.DEBUG);
 			if (!ifaceMethod.is(TypeAccess.PUBLIC)) {
 				throw CrashReport.create("Method annotated with @Inject must be public", IMPLEMENTATION_ERROR).addDetail("Interface", ifaceMethod.getOwner()).addDetail("Inject", signature).exception();
@@ -147,14 +158,19 @@ public class InjectTransformer extends BaseClassTransformer {
 			}
 			
 			Annotation annotation = Objects.requireNonNull(ifaceMethod.getAnnotation(INJECT).get("target"));
-			TargetClassScanner scanner = new TargetClassScanner(method, annotation);
-			ClassFileScanner.scanClass(this.type, scanner);
-			if (!scanner.visitedTarget()) {
-				throw CrashReport.create("Could not find method specified in inject during scan of its own class", IMPLEMENTATION_ERROR).addDetail("Scanner", scanner.getClass().getName()).addDetail("Interface", ifaceMethod.getOwner())
+			return scanner.addTarget(method, annotation);
+		}
+		
+		private void addInject(@NotNull Method ifaceMethod, @NotNull Class targetClass, @NotNull TargetClassScanner.Target result) {
+			String signature = ifaceMethod.getSignature(SignatureType.DEBUG);
+			Method method = result.getMethod();
+			Annotation annotation = result.getAnnotation();
+			if (!result.visitedTarget()) {
+				throw CrashReport.create("Could not find method specified in inject during scan of its own class", IMPLEMENTATION_ERROR).addDetail("Scanner", TargetClassScanner.class.getName()).addDetail("Interface", ifaceMethod.getOwner())
 					.addDetail("Inject", signature).addDetail("Scanned Class", targetClass.getType()).addDetail("Method", method.getSignature(SignatureType.DEBUG)).exception();
 			}
-			int line = scanner.getTargetLine();
-			Method lambdaMethod = scanner.getLambdaMethod();
+			int line = result.getTargetLine();
+			Method lambdaMethod = result.getLambdaMethod();
 			if (lambdaMethod != null && !ifaceMethod.is(TypeModifier.STATIC)) {
 				throw CrashReport.create("Method annotated with @Inject is declared none-static, but specified a lambda expression", IMPLEMENTATION_ERROR).addDetail("Interface", ifaceMethod.getOwner())
 					.addDetail("Inject", signature).addDetail("Method", method.getSignature(SignatureType.DEBUG)).addDetail("Lambda", lambdaMethod.getSignature(SignatureType.DEBUG)).exception();
@@ -3,6 +3,7 @@ package net.luis.agent.asm.transformer.implementation;
 import net.luis.agent.Agent;
 import net.luis.agent.asm.base.BaseClassTransformer;
 import net.luis.agent.asm.base.ContextBasedClassVisitor;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.report.CrashReport;
 import net.luis.agent.asm.type.ClassType;
 import net.luis.agent.util.Utils;
@@ -25,7 +26,7 @@ public class InterfaceInjectionTransformer extends BaseClassTransformer {
 	
 	private static final String REPORT_CATEGORY = "Interface Injection Error";
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	//region Type filtering
 	@Override
@@ -36,8 +37,8 @@ public class InterfaceInjectionTransformer extends BaseClassTransformer {
 	
 	@Override
 	@SuppressWarnings("UnqualifiedFieldAccess")
-	public @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new ContextBasedClassVisitor(writer, type, () -> this.modified = true) {
+	public @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new ContextBasedClassVisitor(visitor, type, context::markModified) {
 			
 			@Override
 			public void visit(int version, int access, @NotNull String name, @Nullable String signature, @Nullable String superClass, String @Nullable [] interfaces) {
@@ -57,7 +58,15 @@ public class InterfaceInjectionTransformer extends BaseClassTransformer {
 			}
 			
 			private void updateClass(@NotNull List<Type> injects) {
-				Agent.getClass(this.type).getInterfaces().addAll(injects);
+				List<Type> interfaces = Agent.getClass(this.type).getInterfaces();
+				// The class may be transformed again by another class loader or a retransformation, the interfaces are only added once
+				synchronized (interfaces) {
+					List<Type> added = injects.stream().filter(inject -> !interfaces.contains(inject)).toList();
+					if (!added.isEmpty()) {
+						interfaces.addAll(added);
+						Agent.invalidateHierarchies();
+					}
+				}
 			}
 		};
 	}
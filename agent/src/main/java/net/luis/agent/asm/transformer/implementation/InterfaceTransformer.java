@@ -3,6 +3,7 @@ package net.luis.agent.asm.transformer.implementation;
 import net.luis.agent.Agent;
 import net.luis.agent.asm.base.BaseClassTransformer;
 import net.luis.agent.asm.base.MethodOnlyClassVisitor;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.util.Utils;
@@ -23,7 +24,16 @@ import static net.luis.agent.asm.Types.*;
 
 public class InterfaceTransformer extends BaseClassTransformer {
 	
+	private static Map</*Target Class*/String, /*Interfaces*/List<String>> injectionTargets;
+	
 	//region Lookup creation
+	public static synchronized @NotNull Map</*Target Class*/String, /*Interfaces*/List<String>> getInjectionTargets() {
+		if (injectionTargets == null) {
+			injectionTargets = Collections.unmodifiableMap(createLookup(INJECT_INTERFACE));
+		}
+		return injectionTargets;
+	}
+	
 	public static @NotNull Map</*Target Class*/String, /*Interfaces*/List<String>> createLookup(@NotNull Type annotationType) {
 		Map<String, List<String>> lookup = new HashMap<>();
 		Agent.stream().filter(clazz -> clazz.isAnnotatedWith(annotationType)).forEach(clazz -> {
@@ -59,16 +69,20 @@ public class InterfaceTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		Class clazz = Agent.getClass(type);
-		return clazz.getMethods().values().stream().noneMatch(method -> method.isAnnotatedWith(INJECT));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(INJECT);
+	}
+	
+	@Override
+	protected boolean isCacheable() {
+		return false;
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
 		Type target = getTarget(Agent.getClass(type), INJECT_INTERFACE);
-		return new InterfaceClassVisitor(writer, type, target, () -> this.modified = true);
+		return new InterfaceClassVisitor(visitor, type, target, context::markModified);
 	}
 	
 	private static class InterfaceClassVisitor extends MethodOnlyClassVisitor {
@@ -81,8 +95,8 @@ public class InterfaceTransformer extends BaseClassTransformer {
 		
 		private final Type target;
 		
-		private InterfaceClassVisitor(@NotNull ClassWriter writer, @NotNull Type type, @Nullable Type target, @NotNull Runnable markModified) {
-			super(writer, type, markModified);
+		private InterfaceClassVisitor(@NotNull ClassVisitor visitor, @NotNull Type type, @Nullable Type target, @NotNull Runnable markModified) {
+			super(visitor, type, markModified);
 			this.target = target;
 		}
 		
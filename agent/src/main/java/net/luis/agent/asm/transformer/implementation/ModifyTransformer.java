@@ -34,7 +34,7 @@ public class ModifyTransformer extends BaseClassTransformer {
 	
 	private static final String REPORT_CATEGORY = "Modify Implementation Error";
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	//region Type filtering
 	@Override
@@ -44,8 +44,8 @@ public class ModifyTransformer extends BaseClassTransformer {
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new ModifyClassVisitor(writer, type, this.lookup, () -> this.modified = true);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new ModifyClassVisitor(visitor, type, this.lookup, context::markModified);
 	}
 	
 	private static class ModifyClassVisitor extends ContextBasedClassVisitor {
@@ -284,7 +284,7 @@ public class ModifyTransformer extends BaseClassTransformer {
 		@Override
 		public void visitInsn(int opcode) {
 			if (!this.constantTargets.isEmpty()) {
-			
+				
 			}
 			super.visitInsn(opcode);
 		}
@@ -6,7 +6,6 @@ import net.luis.agent.asm.base.*;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
-import net.luis.agent.asm.scanner.ClassFileScanner;
 import net.luis.agent.asm.scanner.TargetClassScanner;
 import net.luis.agent.asm.type.*;
 import net.luis.agent.util.TargetType;
@@ -28,7 +27,7 @@ public class RedirectTransformer extends BaseClassTransformer {
 	
 	private static final String REPORT_CATEGORY = "Redirect Implementation Error";
 	
-	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.createLookup(INJECT_INTERFACE);
+	private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup = InterfaceTransformer.getInjectionTargets();
 	
 	public RedirectTransformer() {
 		super(true);
@@ -39,21 +38,28 @@ public class RedirectTransformer extends BaseClassTransformer {
 	protected boolean shouldIgnoreClass(@NotNull Type type) {
 		return !this.lookup.containsKey(type.getInternalName());
 	}
+	
+	@Override
+	protected boolean isCacheable() {
+		return false;
+	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new RedirectClassVisitor(writer, type, this.lookup, () -> this.modified = true);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new RedirectClassVisitor(visitor, type, context.getBuffer(), this.lookup, context::markModified);
 	}
 	
 	private static class RedirectClassVisitor extends ContextBasedClassVisitor {
 		
 		private final Map</*Method Signature*/String, List<RedirectData>> redirects = new HashMap<>();
 		private final Map</*Target Class*/String, /*Interfaces*/List<String>> lookup;
+		private final byte[] buffer;
 		
-		private RedirectClassVisitor(@NotNull ClassWriter writer, @NotNull Type type, @NotNull Map<String, List<String>> lookup, @NotNull Runnable markModified) {
-			super(writer, type, markModified);
+		private RedirectClassVisitor(@NotNull ClassVisitor visitor, @NotNull Type type, byte @NotNull [] buffer, @NotNull Map<String, List<String>> lookup, @NotNull Runnable markModified) {
+			super(visitor, type, markModified);
 			this.lookup = lookup;
+			this.buffer = buffer;
 		}
 		
 		private static @NotNull CrashReport createReport(@NotNull String message, @NotNull Type iface, @NotNull String methodSignature) {
@@ -65,11 +71,13 @@ public class RedirectTransformer extends BaseClassTransformer {
 			super.visit(version, access, name, signature, superClass, interfaces);
 			if (this.lookup.containsKey(name)) {
 				Class targetClass = Agent.getClass(Type.getObjectType(name));
+				TargetClassScanner scanner = new TargetClassScanner();
+				Map<TargetClassScanner.Target, /*Interface Method*/Method> targets = new LinkedHashMap<>();
 				for (Type iface : this.lookup.get(name).stream().map(Type::getObjectType).toList()) {
 					Class ifaceClass = Agent.getClass(iface);
 					for (Method method : ifaceClass.getMethods().values()) {
 						if (method.isAnnotatedWith(REDIRECT)) {
-							this.validateMethod(method, targetClass);
+							targets.put(this.validateMethod(method, targetClass, scanner), method);
 						} else if (method.is(TypeAccess.PUBLIC)) {
 							if (method.getAnnotations().isEmpty()) {
 								throw createReport("Found method without annotation, does not know how to implement", iface, method.getSignature(SignatureType.DEBUG)).exception();
@@ -79,10 +87,13 @@ public class RedirectTransformer extends BaseClassTransformer {
 						}
 					}
 				}
+				// All targets of the class are resolved together in a single pass over the class file which is currently transformed
+				scanner.scan(this.buffer);
+				targets.forEach((result, method) -> this.addRedirect(method, targetClass, result));
 			}
 		}
 		
-		private void validateMethod(@NotNull Method ifaceMethod, @NotNull Class targetClass) {
+		private @NotNull TargetClassScanner.Target validateMethod(@NotNull Method ifaceMethod, @NotNull Class targetClass, @NotNull TargetClassScanner scanner) {
 			String signature = ifaceMethod.getSignature(SignatureType.DEBUG);
 			//region Base validation
 			if (!ifaceMethod.is(TypeAccess.PUBLIC)) {
@@ -135,14 +146,20 @@ public class RedirectTransformer extends BaseClassTransformer {
 				throw CrashReport.create("Unsupported target type specified in redirect, supported are New and Invoke", REPORT_CATEGORY).addDetail("Interface", ifaceMethod.getOwner()).addDetail("Redirect", signature)
 					.addDetail("Target Type", target).exception();
 			}
-			TargetClassScanner scanner = new TargetClassScanner(method, annotation);
-			ClassFileScanner.scanClass(this.type, scanner);
-			if (!scanner.visitedTarget()) {
-				throw CrashReport.create("Could not find method specified in redirect during scan of its own class", REPORT_CATEGORY).addDetail("Scanner", scanner.getClass().getName()).addDetail("Interface", ifaceMethod.getOwner())
+			return scanner.addTarget(method, annotation);
+		}
+		
+		private void addRedirect(@NotNull Method ifaceMethod, @NotNull Class targetClass, @NotNull TargetClassScanner.Target result) {
+			String signature = ifaceMethod.getSignature(SignatureType.DEBUG);
+			Method method = result.getMethod();
+			Annotation annotation = result.getAnnotation();
+			TargetType target = TargetType.valueOf(annotation.get("type"));
+			if (!result.visitedTarget()) {
+				throw CrashReport.create("Could not find method specified in redirect during scan of its own class", REPORT_CATEGORY).addDetail("Scanner", TargetClassScanner.class.getName()).addDetail("Interface", ifaceMethod.getOwner())
 					.addDetail("Redirect", signature).addDetail("Scanned Class", targetClass.getType()).addDetail("Method", method.getSignature(SignatureType.DEBUG)).exception();
 			}
-			int line = scanner.getTargetLine();
-			Method lambdaMethod = scanner.getLambdaMethod();
+			int line = result.getTargetLine();
+			Method lambdaMethod = result.getLambdaMethod();
 			if (lambdaMethod != null && !ifaceMethod.is(TypeModifier.STATIC)) {
 				throw CrashReport.create("Method annotated with @Redirect is declared none-static, but specified a lambda expression", REPORT_CATEGORY).addDetail("Interface", ifaceMethod.getOwner())
 					.addDetail("Redirect", signature).addDetail("Method", method.getSignature(SignatureType.DEBUG)).addDetail("Lambda", lambdaMethod.getSignature(SignatureType.DEBUG)).exception();
@@ -3,6 +3,7 @@ package net.luis.agent.asm.transformer.method;
 import net.luis.agent.Agent;
 import net.luis.agent.asm.base.BaseClassTransformer;
 import net.luis.agent.asm.base.ContextBasedClassVisitor;
+import net.luis.agent.asm.base.TransformationContext;
 import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
@@ -14,6 +15,7 @@ import org.objectweb.asm.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
@@ -32,14 +34,14 @@ public class AsyncTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		return Agent.getClass(type).getMethods().values().stream().noneMatch(method -> method.isAnnotatedWith(ASYNC));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(ASYNC);
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new AsyncClassVisitor(writer, type, () -> this.modified = true);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new AsyncClassVisitor(visitor, type, context::markModified);
 	}
 	
 	private static class AsyncClassVisitor extends ContextBasedClassVisitor {
@@ -1,6 +1,5 @@
 package net.luis.agent.asm.transformer.method;
 
-import net.luis.agent.Agent;
 import net.luis.agent.asm.base.*;
 import net.luis.agent.asm.data.Annotation;
 import net.luis.agent.asm.data.Method;
@@ -11,6 +10,8 @@ import org.jetbrains.annotations.NotNull;
 import org.objectweb.asm.*;
 import org.objectweb.asm.commons.LocalVariablesSorter;
 
+import java.util.Set;
+
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
 
@@ -28,14 +29,14 @@ public class CaughtTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		return Agent.getClass(type).getMethods().values().stream().noneMatch(method -> method.isAnnotatedWith(CAUGHT));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(CAUGHT);
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new MethodOnlyClassVisitor(writer, type, () -> this.modified = true) {
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new MethodOnlyClassVisitor(visitor, type, context::markModified) {
 			
 			@Override
 			protected boolean isMethodValid(@NotNull Method method) {
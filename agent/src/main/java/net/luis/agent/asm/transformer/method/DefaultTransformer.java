@@ -11,6 +11,7 @@ import org.objectweb.asm.commons.LocalVariablesSorter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
@@ -29,14 +30,14 @@ public class DefaultTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		return Agent.getClass(type).getParameters().stream().noneMatch(parameter -> parameter.isAnnotatedWith(DEFAULT));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(DEFAULT);
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new MethodOnlyClassVisitor(writer, type, () -> this.modified = true) {
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new MethodOnlyClassVisitor(visitor, type, context::markModified) {
 			
 			@Override
 			protected boolean isMethodValid(@NotNull Method method) {
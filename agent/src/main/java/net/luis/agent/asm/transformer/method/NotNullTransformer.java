@@ -13,6 +13,7 @@ import org.objectweb.asm.commons.LocalVariablesSorter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
@@ -29,9 +30,21 @@ public class NotNullTransformer extends BaseClassTransformer {
 		super(true);
 	}
 	
+	//region Type filtering
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new MethodOnlyClassVisitor(writer, type, () -> this.modified = true) {
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(NOT_NULL);
+	}
+	
+	@Override
+	protected boolean isInterestedInLocals() {
+		return true;
+	}
+	//endregion
+	
+	@Override
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new MethodOnlyClassVisitor(visitor, type, context::markModified) {
 			
 			@Override
 			protected boolean isMethodValid(@NotNull Method method) {
@@ -7,6 +7,7 @@ import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
 import net.luis.agent.asm.report.ReportedException;
 import net.luis.agent.asm.type.*;
+import net.luis.agent.util.Utils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.*;
@@ -29,6 +30,7 @@ public class PatternTransformer extends BaseClassTransformer {
 	
 	private final Map<Type, String> lookup = Agent.stream().filter(clazz -> clazz.is(ClassType.ANNOTATION) && clazz.isAnnotatedWith(PATTERN))
 		.collect(Collectors.toMap(Class::getType, clazz -> Objects.requireNonNull(clazz.getAnnotation(PATTERN).get("value"))));
+	private final Set<Type> interests = Utils.make(new HashSet<>(this.lookup.keySet()), set -> set.add(PATTERN));
 	
 	public PatternTransformer() {
 		super(true);
@@ -36,17 +38,14 @@ public class PatternTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		Class clazz = Agent.getClass(type);
-		Type[] annotations = this.lookup.keySet().toArray(Type[]::new);
-		return clazz.getMethods().values().stream().noneMatch(method -> method.isAnnotatedWith(PATTERN) || method.isAnnotatedWithAny(annotations)) &&
-			clazz.getParameters().stream().noneMatch(parameter -> parameter.isAnnotatedWith(PATTERN) || parameter.isAnnotatedWithAny(annotations));
+	protected @NotNull Set<Type> getInterests() {
+		return this.interests;
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new PatternClassVisitor(writer, type, this.lookup, () -> this.modified = true);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new PatternClassVisitor(visitor, type, this.lookup, context::markModified);
 	}
 	
 	private static class PatternClassVisitor extends MethodOnlyClassVisitor {
@@ -1,8 +1,6 @@
 package net.luis.agent.asm.transformer.method;
 
-import net.luis.agent.Agent;
 import net.luis.agent.asm.base.*;
-import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.data.*;
 import net.luis.agent.asm.report.CrashReport;
 import net.luis.agent.asm.type.MethodType;
@@ -14,6 +12,7 @@ import org.objectweb.asm.commons.LocalVariablesSorter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
@@ -34,15 +33,14 @@ public class RangeTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		Class clazz = Agent.getClass(type);
-		return clazz.getMethods().values().stream().noneMatch(method -> method.isAnnotatedWithAny(ANNOS)) && clazz.getParameters().stream().noneMatch(parameter -> parameter.isAnnotatedWithAny(ANNOS));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(ANNOS);
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new MethodOnlyClassVisitor(writer, type, () -> this.modified = true) {
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new MethodOnlyClassVisitor(visitor, type, context::markModified) {
 			
 			@Override
 			protected boolean isMethodValid(@NotNull Method method) {
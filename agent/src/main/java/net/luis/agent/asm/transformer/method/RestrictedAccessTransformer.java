@@ -12,6 +12,7 @@ import org.objectweb.asm.commons.LocalVariablesSorter;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import static net.luis.agent.asm.Instrumentations.*;
 import static net.luis.agent.asm.Types.*;
@@ -30,14 +31,14 @@ public class RestrictedAccessTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		return Agent.getClass(type).getMethods().values().stream().noneMatch(method -> method.isAnnotatedWith(RESTRICTED_ACCESS));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(RESTRICTED_ACCESS);
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new RestrictedAccessClassVisitor(writer, type, () -> this.modified = true);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new RestrictedAccessClassVisitor(visitor, type, context::markModified);
 	}
 	
 	private static class RestrictedAccessClassVisitor extends ContextBasedClassVisitor {
@@ -31,14 +31,14 @@ public class ScheduledTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		return Agent.getClass(type).getMethods().values().stream().noneMatch(method -> method.isAnnotatedWith(SCHEDULED));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(SCHEDULED);
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new ScheduledClassVisitor(writer, type, () -> this.modified = true);
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new ScheduledClassVisitor(visitor, type, context::markModified);
 	}
 	
 	private static class ScheduledClassVisitor extends ContextBasedClassVisitor {
@@ -109,7 +109,7 @@ public class ScheduledTransformer extends BaseClassTransformer {
 				this.cv.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "GENERATED$SCHEDULED_EXECUTOR", SCHEDULED_EXECUTOR.getDescriptor(), null, null).visitEnd();
 				this.generated = true;
 				this.executor = Field.builder(this.type, "GENERATED$SCHEDULED_EXECUTOR", SCHEDULED_EXECUTOR).access(TypeAccess.PRIVATE).addModifier(TypeModifier.STATIC).addModifier(TypeModifier.FINAL).build();
-				Agent.getClass(this.type).getFields().put(this.executor.getName(), this.executor);
+				Agent.getClass(this.type).addField(this.executor);
 			}
 		}
 		
@@ -128,7 +128,7 @@ public class ScheduledTransformer extends BaseClassTransformer {
 		public void visitEnd() {
 			if (!this.initialized) {
 				Method method = Method.builder(this.type, "<clinit>", VOID_METHOD).addModifier(TypeModifier.STATIC).build();
-				Agent.getClass(this.type).getMethods().put(method.getSignature(SignatureType.FULL), method);
+				Agent.getClass(this.type).addMethod(method);
 				MethodVisitor visitor = this.visitMethod(Opcodes.ACC_STATIC, "<clinit>", VOID_METHOD.getDescriptor(), null, null);
 				visitor.visitCode();
 				visitor.visitInsn(Opcodes.RETURN);
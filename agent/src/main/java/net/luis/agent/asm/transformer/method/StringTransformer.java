@@ -1,9 +1,7 @@
 package net.luis.agent.asm.transformer.method;
 
-import net.luis.agent.Agent;
 import net.luis.agent.asm.base.*;
 import net.luis.agent.asm.data.*;
-import net.luis.agent.asm.data.Class;
 import net.luis.agent.asm.report.CrashReport;
 import net.luis.agent.asm.type.SignatureType;
 import net.luis.agent.util.StripMode;
@@ -40,15 +38,19 @@ public class StringTransformer extends BaseClassTransformer {
 	
 	//region Type filtering
 	@Override
-	protected boolean shouldIgnoreClass(@NotNull Type type) {
-		Class clazz = Agent.getClass(type);
-		return clazz.getParameters().stream().noneMatch(parameter -> parameter.isAnnotatedWithAny(ALL)) && clazz.getMethods().values().stream().noneMatch(method -> method.isAnnotatedWithAny(ALL));
+	protected @NotNull Set<Type> getInterests() {
+		return Set.of(ALL);
+	}
+	
+	@Override
+	protected boolean isInterestedInLocals() {
+		return true;
 	}
 	//endregion
 	
 	@Override
-	protected @NotNull ClassVisitor visit(@NotNull Type type, @NotNull ClassWriter writer) {
-		return new MethodOnlyClassVisitor(writer, type, () -> this.modified = true) {
+	protected @NotNull ClassVisitor visit(@NotNull TransformationContext context, @NotNull Type type, @NotNull ClassVisitor visitor) {
+		return new MethodOnlyClassVisitor(visitor, type, context::markModified) {
 			
 			@Override
 			protected boolean isMethodValid(@NotNull Method method) {
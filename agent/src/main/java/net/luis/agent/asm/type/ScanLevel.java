@@ -0,0 +1,25 @@
+package net.luis.agent.asm.type;
+
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.ClassReader;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public enum ScanLevel {
+	
+	HEADER,
+	MEMBERS,
+	CODE;
+	
+	public boolean includes(@NotNull ScanLevel level) {
+		return this.ordinal() >= level.ordinal();
+	}
+	
+	public int getParsingOptions() {
+		return this == CODE ? 0 : ClassReader.SKIP_CODE;
+	}
+}
@@ -0,0 +1,247 @@
+package net.luis.agent.metrics;
+
+import net.luis.agent.Agent;
+import net.luis.agent.AgentOptions;
+import net.luis.agent.util.ConcurrentCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class AgentMetrics {
+	
+	private static final String OBJECT_NAME = "net.luis.agent:type=Metrics";
+	private static final int SLOWEST_CLASSES = 20;
+	private static final LongAdder classes = new LongAdder();
+	private static final LongAdder modified = new LongAdder();
+	private static final LongAdder bytesIn = new LongAdder();
+	private static final LongAdder bytesOut = new LongAdder();
+	private static final Histogram classNanos = new Histogram();
+	private static final Map</*Transformer*/String, TransformerMetrics> transformers = new ConcurrentHashMap<>();
+	private static final Map</*Class Name*/String, ClassMetrics> modifiedClasses = new ConcurrentHashMap<>();
+	private static final Map</*Phase*/String, LongAdder> phases = new ConcurrentHashMap<>();
+	private static volatile boolean enabled;
+	
+	public static void initialize() {
+		if (!AgentOptions.getBoolean("metrics", false)) {
+			return;
+		}
+		enabled = true;
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+		} catch (Exception e) {
+			System.err.println("Unable to register agent metrics as " + OBJECT_NAME + ": " + e.getMessage());
+		}
+		int interval = AgentOptions.getInt("metrics.dump", 0);
+		if (interval > 0) {
+			ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Agent Metrics Dump");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.scheduleAtFixedRate(() -> System.out.println(dump()), interval, interval, TimeUnit.SECONDS);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(dump()), "Agent Metrics Shutdown"));
+		}
+	}
+	
+	public static boolean isEnabled() {
+		return enabled;
+	}
+	
+	//region Recording
+	public static void recordClass(@NotNull String className, long nanos, int inputLength, byte @Nullable [] output) {
+		if (!enabled) {
+			return;
+		}
+		classes.increment();
+		bytesIn.add(inputLength);
+		classNanos.record(nanos);
+		if (output != null) {
+			modified.increment();
+			bytesOut.add(output.length);
+			modifiedClasses.put(className, new ClassMetrics(nanos, inputLength, output.length));
+		}
+	}
+	
+	public static void recordTransformer(@NotNull String transformer, long nanos, boolean modified, boolean failed) {
+		if (enabled) {
+			transformers.computeIfAbsent(transformer, name -> new TransformerMetrics()).record(nanos, modified, failed);
+		}
+	}
+	
+	public static void recordPhase(@NotNull String phase, long nanos) {
+		if (enabled) {
+			phases.computeIfAbsent(phase, name -> new LongAdder()).add(nanos);
+		}
+	}
+	//endregion
+	
+	public static @NotNull String dump() {
+		StringBuilder builder = new StringBuilder("Agent metrics:");
+		ConcurrentCache<?, ?> cache = Agent.getMetadataCache();
+		builder.append("\n  Classes: ").append(classes.sum()).append(" seen, ").append(modified.sum()).append(" modified, ").append(classes.sum() - modified.sum()).append(" skipped, ")
+			.append(bytesIn.sum()).append(" bytes in, ").append(bytesOut.sum()).append(" bytes out");
+		builder.append("\n  Transform time: ").append(toMillis(classNanos.getSum())).append("ms total, ").append(toMicros(classNanos.getPercentile(50))).append("us p50, ")
+			.append(toMicros(classNanos.getPercentile(99))).append("us p99, ").append(toMicros(classNanos.getMax())).append("us max");
+		builder.append("\n  Metadata cache: ").append(cache.getStatistics());
+		builder.append("\n  Phases:");
+		phases.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> builder.append(" ").append(entry.getKey()).append(" ").append(toMillis(entry.getValue().sum())).append("ms"));
+		builder.append("\n  Transformers:");
+		transformers.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+			TransformerMetrics metrics = entry.getValue();
+			builder.append("\n    ").append(entry.getKey()).append(": ").append(metrics.getInvocations()).append(" invocations, ").append(metrics.getModifications()).append(" modified, ")
+				.append(metrics.getFailures()).append(" failed, ").append(toMillis(metrics.getNanos().getSum())).append("ms total, ").append(toMicros(metrics.getNanos().getPercentile(99))).append("us p99");
+		});
+		builder.append("\n  Slowest classes:");
+		getSlowestClasses().forEach(entry -> builder.append("\n    ").append(entry.getKey()).append(": ").append(toMicros(entry.getValue().nanos())).append("us, ")
+			.append(entry.getValue().bytesIn()).append(" -> ").append(entry.getValue().bytesOut()).append(" bytes"));
+		return builder.toString();
+	}
+	
+	//region Helper methods
+	private static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+	
+	private static long toMicros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+	
+	private static @NotNull List<Map.Entry<String, ClassMetrics>> getSlowestClasses() {
+		return modifiedClasses.entrySet().stream().sorted(Comparator.comparingLong((Map.Entry<String, ClassMetrics> entry) -> entry.getValue().nanos()).reversed()).limit(SLOWEST_CLASSES).toList();
+	}
+	
+	private static @NotNull Map<String, Long> getTransformerValues(@NotNull ToLongFunction<TransformerMetrics> getter) {
+		Map<String, Long> values = new TreeMap<>();
+		transformers.forEach((name, metrics) -> values.put(name, getter.applyAsLong(metrics)));
+		return values;
+	}
+	//endregion
+	
+	private record ClassMetrics(long nanos, int bytesIn, int bytesOut) {}
+	
+	private static class Bean implements AgentMetricsMXBean {
+		
+		@Override
+		public long getClasses() {
+			return classes.sum();
+		}
+		
+		@Override
+		public long getModifiedClasses() {
+			return modified.sum();
+		}
+		
+		@Override
+		public long getSkippedClasses() {
+			return classes.sum() - modified.sum();
+		}
+		
+		@Override
+		public long getBytesIn() {
+			return bytesIn.sum();
+		}
+		
+		@Override
+		public long getBytesOut() {
+			return bytesOut.sum();
+		}
+		
+		@Override
+		public long getTransformMillis() {
+			return toMillis(classNanos.getSum());
+		}
+		
+		@Override
+		public long getTransformMicrosP50() {
+			return toMicros(classNanos.getPercentile(50));
+		}
+		
+		@Override
+		public long getTransformMicrosP99() {
+			return toMicros(classNanos.getPercentile(99));
+		}
+		
+		@Override
+		public long getTransformMicrosMax() {
+			return toMicros(classNanos.getMax());
+		}
+		
+		@Override
+		public long getMetadataCacheHits() {
+			return Agent.getMetadataCache().getHits();
+		}
+		
+		@Override
+		public long getMetadataCacheMisses() {
+			return Agent.getMetadataCache().getMisses();
+		}
+		
+		@Override
+		public long getMetadataCacheWaits() {
+			return Agent.getMetadataCache().getWaits();
+		}
+		
+		@Override
+		public double getMetadataCacheHitRate() {
+			long hits = this.getMetadataCacheHits();
+			long requests = hits + this.getMetadataCacheMisses() + this.getMetadataCacheWaits();
+			return requests == 0 ? 0.0 : (double) hits / requests;
+		}
+		
+		@Override
+		public long getMetadataLoadMillis() {
+			return toMillis(Agent.getMetadataCache().getLoadNanos());
+		}
+		
+		@Override
+		public @NotNull Map<String, Long> getPhaseMillis() {
+			Map<String, Long> values = new TreeMap<>();
+			phases.forEach((phase, nanos) -> values.put(phase, toMillis(nanos.sum())));
+			return values;
+		}
+		
+		@Override
+		public @NotNull Map<String, Long> getTransformerInvocations() {
+			return getTransformerValues(TransformerMetrics::getInvocations);
+		}
+		
+		@Override
+		public @NotNull Map<String, Long> getTransformerModifications() {
+			return getTransformerValues(TransformerMetrics::getModifications);
+		}
+		
+		@Override
+		public @NotNull Map<String, Long> getTransformerFailures() {
+			return getTransformerValues(TransformerMetrics::getFailures);
+		}
+		
+		@Override
+		public @NotNull Map<String, Long> getTransformerMillis() {
+			return getTransformerValues(metrics -> toMillis(metrics.getNanos().getSum()));
+		}
+		
+		@Override
+		public @NotNull Map<String, Long> getSlowestClassMicros() {
+			Map<String, Long> values = new LinkedHashMap<>();
+			getSlowestClasses().forEach(entry -> values.put(entry.getKey(), toMicros(entry.getValue().nanos())));
+			return values;
+		}
+		
+		@Override
+		public @NotNull String dump() {
+			return AgentMetrics.dump();
+		}
+	}
+}
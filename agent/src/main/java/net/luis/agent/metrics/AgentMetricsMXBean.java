@@ -0,0 +1,56 @@
+package net.luis.agent.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public interface AgentMetricsMXBean {
+	
+	long getClasses();
+	
+	long getModifiedClasses();
+	
+	long getSkippedClasses();
+	
+	long getBytesIn();
+	
+	long getBytesOut();
+	
+	long getTransformMillis();
+	
+	long getTransformMicrosP50();
+	
+	long getTransformMicrosP99();
+	
+	long getTransformMicrosMax();
+	
+	long getMetadataCacheHits();
+	
+	long getMetadataCacheMisses();
+	
+	long getMetadataCacheWaits();
+	
+	double getMetadataCacheHitRate();
+	
+	long getMetadataLoadMillis();
+	
+	@NotNull Map<String, Long> getPhaseMillis();
+	
+	@NotNull Map<String, Long> getTransformerInvocations();
+	
+	@NotNull Map<String, Long> getTransformerModifications();
+	
+	@NotNull Map<String, Long> getTransformerFailures();
+	
+	@NotNull Map<String, Long> getTransformerMillis();
+	
+	@NotNull Map<String, Long> getSlowestClassMicros();
+	
+	@NotNull String dump();
+}
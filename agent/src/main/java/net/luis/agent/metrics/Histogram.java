@@ -0,0 +1,62 @@
+package net.luis.agent.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class Histogram {
+	
+	// One bucket per bit length, values of bucket i are between 2^(i - 1) and 2^i - 1
+	private final LongAdder[] buckets = new LongAdder[Long.SIZE + 1];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+	
+	public Histogram() {
+		Arrays.setAll(this.buckets, i -> new LongAdder());
+	}
+	
+	public void record(long value) {
+		long recorded = Math.max(0, value);
+		this.buckets[Long.SIZE - Long.numberOfLeadingZeros(recorded)].increment();
+		this.count.increment();
+		this.sum.add(recorded);
+		this.max.accumulate(recorded);
+	}
+	
+	public long getCount() {
+		return this.count.sum();
+	}
+	
+	public long getSum() {
+		return this.sum.sum();
+	}
+	
+	public long getMax() {
+		return this.max.get();
+	}
+	
+	public long getPercentile(double percentile) {
+		long[] counts = Arrays.stream(this.buckets).mapToLong(LongAdder::sum).toArray();
+		long total = Arrays.stream(counts).sum();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= Math.max(1, rank)) {
+				long upperBound = i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.min(upperBound, this.getMax());
+			}
+		}
+		return this.getMax();
+	}
+}
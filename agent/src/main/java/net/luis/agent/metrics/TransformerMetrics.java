@@ -0,0 +1,46 @@
+package net.luis.agent.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class TransformerMetrics {
+	
+	private final LongAdder invocations = new LongAdder();
+	private final LongAdder modifications = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final Histogram nanos = new Histogram();
+	
+	void record(long nanos, boolean modified, boolean failed) {
+		this.invocations.increment();
+		if (modified) {
+			this.modifications.increment();
+		}
+		if (failed) {
+			this.failures.increment();
+		}
+		this.nanos.record(nanos);
+	}
+	
+	public long getInvocations() {
+		return this.invocations.sum();
+	}
+	
+	public long getModifications() {
+		return this.modifications.sum();
+	}
+	
+	public long getFailures() {
+		return this.failures.sum();
+	}
+	
+	public @NotNull Histogram getNanos() {
+		return this.nanos;
+	}
+}
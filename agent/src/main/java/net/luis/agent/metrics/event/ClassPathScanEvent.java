@@ -0,0 +1,24 @@
+package net.luis.agent.metrics.event;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@Name("net.luis.agent.ClassPathScan")
+@Label("Class Path Scan")
+@Description("Scan of a jar or directory on the class path")
+@Category({ "Agent", "Scanning" })
+public class ClassPathScanEvent extends Event {
+	
+	@Label("Source")
+	public String source;
+	@Label("Classes")
+	public int classes;
+	@Label("Size")
+	@DataAmount
+	public long size;
+}
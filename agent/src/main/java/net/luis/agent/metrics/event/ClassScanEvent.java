@@ -0,0 +1,22 @@
+package net.luis.agent.metrics.event;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@Name("net.luis.agent.ClassScan")
+@Label("Class Scan")
+@Description("Scan of a single class file into class metadata")
+@Category({ "Agent", "Scanning" })
+public class ClassScanEvent extends Event {
+	
+	@Label("Class Name")
+	public String className;
+	@Label("Size")
+	@DataAmount
+	public int size;
+}
@@ -0,0 +1,25 @@
+package net.luis.agent.metrics.event;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@Name("net.luis.agent.CrashReport")
+@Label("Crash Report")
+@Description("Failure reported by the agent")
+@Category({ "Agent", "Errors" })
+public class CrashReportEvent extends Event {
+	
+	@Label("Message")
+	public String message;
+	@Label("Category")
+	public String category;
+	@Label("Exception")
+	public String exception;
+	@Label("Can Continue")
+	public boolean canContinue;
+}
@@ -0,0 +1,28 @@
+package net.luis.agent.metrics.event;
+
+import jdk.jfr.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@Name("net.luis.agent.Transformer")
+@Label("Class Transformer")
+@Description("Application of a single class transformer to a loaded class")
+@Category({ "Agent", "Transformation" })
+public class TransformerEvent extends Event {
+	
+	@Label("Class Name")
+	public String className;
+	@Label("Transformer")
+	public String transformer;
+	@Label("Size")
+	@DataAmount
+	public int size;
+	@Label("Modified")
+	public boolean modified;
+	@Label("Failed")
+	public boolean failed;
+}
@@ -0,0 +1,149 @@
+package net.luis.agent.processor;
+
+import net.luis.agent.asm.index.ElementIndex;
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+@SupportedAnnotationTypes("*")
+public class ElementIndexProcessor extends AbstractProcessor {
+	
+	private static final String ANNOTATION_PACKAGE = "net.luis.agent.annotation.";
+	private static final String PATTERN = "org.intellij.lang.annotations.Pattern";
+	private static final Set<String> ANNOTATIONS = Set.of(PATTERN, "org.jetbrains.annotations.NotNull");
+	
+	private final Set<String> elements = new TreeSet<>();
+	
+	@Override
+	public @NotNull SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			this.write();
+		} else {
+			for (Element element : roundEnv.getRootElements()) {
+				if (element instanceof TypeElement type) {
+					this.scanType(type);
+				}
+			}
+		}
+		return false;
+	}
+	
+	//region Scanning
+	private void scanType(@NotNull TypeElement type) {
+		String owner = this.getInternalName(type);
+		// Types are listed even without annotations, so classes missing from a partial compilation are scanned instead of skipped
+		this.elements.add(ElementIndex.TYPE + "\t" + owner);
+		this.addElements(ElementIndex.Kind.CLASS, owner, "-", type);
+		for (Element element : type.getEnclosedElements()) {
+			switch (element.getKind()) {
+				case FIELD, ENUM_CONSTANT -> this.addElements(ElementIndex.Kind.FIELD, owner, element.getSimpleName().toString(), element);
+				case RECORD_COMPONENT -> this.addElements(ElementIndex.Kind.RECORD_COMPONENT, owner, element.getSimpleName().toString(), element);
+				case METHOD, CONSTRUCTOR -> {
+					ExecutableElement method = (ExecutableElement) element;
+					String signature = method.getSimpleName() + this.getDescriptor(type, method);
+					this.addElements(ElementIndex.Kind.METHOD, owner, signature, method);
+					List<? extends VariableElement> parameters = method.getParameters();
+					for (int i = 0; i < parameters.size(); i++) {
+						this.addElements(ElementIndex.Kind.PARAMETER, owner, signature + "#" + i, parameters.get(i));
+					}
+				}
+				case CLASS, INTERFACE, ENUM, RECORD, ANNOTATION_TYPE -> this.scanType((TypeElement) element);
+				default -> {}
+			}
+		}
+	}
+	
+	private void addElements(@NotNull ElementIndex.Kind kind, @NotNull String owner, @NotNull String member, @NotNull Element element) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+			if (this.isAgentAnnotation(annotation)) {
+				this.elements.add(kind + "\t" + owner + "\t" + member + "\t" + this.getDescriptor(annotation.asType()));
+			}
+		}
+	}
+	
+	private boolean isAgentAnnotation(@NotNull TypeElement annotation) {
+		String name = annotation.getQualifiedName().toString();
+		if (name.startsWith(ANNOTATION_PACKAGE) || ANNOTATIONS.contains(name)) {
+			return true;
+		}
+		return annotation.getAnnotationMirrors().stream().anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(PATTERN));
+	}
+	//endregion
+	
+	//region Descriptors
+	private @NotNull String getInternalName(@NotNull TypeElement type) {
+		return this.processingEnv.getElementUtils().getBinaryName(type).toString().replace('.', '/');
+	}
+	
+	private @NotNull String getDescriptor(@NotNull TypeElement owner, @NotNull ExecutableElement method) {
+		StringBuilder builder = new StringBuilder("(");
+		if (method.getKind() == ElementKind.CONSTRUCTOR) {
+			if (owner.getKind() == ElementKind.ENUM) {
+				builder.append("Ljava/lang/String;I");
+			} else if (owner.getNestingKind() == NestingKind.MEMBER && !owner.getModifiers().contains(Modifier.STATIC) && owner.getEnclosingElement() instanceof TypeElement outer) {
+				builder.append("L").append(this.getInternalName(outer)).append(";");
+			}
+		}
+		for (VariableElement parameter : method.getParameters()) {
+			builder.append(this.getDescriptor(parameter.asType()));
+		}
+		return builder.append(")").append(this.getDescriptor(method.getReturnType())).toString();
+	}
+	
+	private @NotNull String getDescriptor(@NotNull TypeMirror type) {
+		TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+		return switch (erased.getKind()) {
+			case BOOLEAN -> "Z";
+			case BYTE -> "B";
+			case CHAR -> "C";
+			case SHORT -> "S";
+			case INT -> "I";
+			case LONG -> "J";
+			case FLOAT -> "F";
+			case DOUBLE -> "D";
+			case VOID -> "V";
+			case ARRAY -> "[" + this.getDescriptor(((ArrayType) erased).getComponentType());
+			case DECLARED -> "L" + this.getInternalName((TypeElement) ((DeclaredType) erased).asElement()) + ";";
+			default -> "Ljava/lang/Object;";
+		};
+	}
+	//endregion
+	
+	private void write() {
+		if (this.elements.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ElementIndex.LOCATION);
+			try (Writer writer = file.openWriter()) {
+				for (String element : this.elements) {
+					writer.write(element);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write agent element index: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package net.luis.agent.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ *
+ * @author Luis-St
+ *
+ */
+
+public class ConcurrentCache<K, V> {
+	
+	private final Map<K, V> values = new ConcurrentHashMap<>();
+	private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder waits = new LongAdder();
+	private final LongAdder loadNanos = new LongAdder();
+	
+	public @Nullable V getIfPresent(@NotNull K key) {
+		return this.values.get(key);
+	}
+	
+	public @NotNull V get(@NotNull K key, @NotNull Function<K, V> loader) {
+		V value = this.values.get(key);
+		if (value != null) {
+			this.hits.increment();
+			return value;
+		}
+		return this.load(key, loader);
+	}
+	
+	public void put(@NotNull K key, @NotNull V value) {
+		this.values.put(key, value);
+	}
+	
+	public boolean containsKey(@NotNull K key) {
+		return this.values.containsKey(key);
+	}
+	
+	public int size() {
+		return this.values.size();
+	}
+	
+	//region Statistics
+	public long getHits() {
+		return this.hits.sum();
+	}
+	
+	public long getMisses() {
+		return this.misses.sum();
+	}
+	
+	public long getWaits() {
+		return this.waits.sum();
+	}
+	
+	public long getLoadNanos() {
+		return this.loadNanos.sum();
+	}
+	
+	public @NotNull String getStatistics() {
+		long hits = this.getHits();
+		long misses = this.getMisses();
+		long waits = this.getWaits();
+		long requests = hits + misses + waits;
+		String rate = requests == 0 ? "0" : String.format(Locale.ROOT, "%.2f", hits * 100.0 / requests);
+		return this.size() + " entries, " + hits + " hits, " + misses + " misses, " + waits + " waits (" + rate + "% hit rate), " + TimeUnit.NANOSECONDS.toMillis(this.getLoadNanos()) + "ms loading";
+	}
+	//endregion
+	
+	private @NotNull V load(@NotNull K key, @NotNull Function<K, V> loader) {
+		CompletableFuture<V> future = new CompletableFuture<>();
+		CompletableFuture<V> existing = this.loading.putIfAbsent(key, future);
+		if (existing != null) {
+			// Waiting for a value loaded by another thread is neither a hit nor a miss, it is counted separately
+			this.waits.increment();
+			return await(existing);
+		}
+		try {
+			V value = this.values.get(key);
+			if (value == null) {
+				this.misses.increment();
+				long start = System.nanoTime();
+				value = Objects.requireNonNull(loader.apply(key), "Loaded value must not be null");
+				this.loadNanos.add(System.nanoTime() - start);
+				this.values.put(key, value);
+			} else {
+				this.hits.increment();
+			}
+			future.complete(value);
+			return value;
+		} catch (Throwable throwable) {
+			future.completeExceptionally(throwable);
+			throw throwable;
+		} finally {
+			this.loading.remove(key, future);
+		}
+	}
+	
+	//region Helper methods
+	private static <V> @NotNull V await(@NotNull CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException exception) {
+				throw exception;
+			} else if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+	//endregion
+}